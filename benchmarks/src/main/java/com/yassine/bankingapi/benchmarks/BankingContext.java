@@ -0,0 +1,64 @@
+package com.yassine.bankingapi.benchmarks;
+
+import com.yassine.bankingapi.BankingApiApplication;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.AccountRepository;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against a private embedded H2 database, quietly,
+ * and seeds accounts for the benchmarks.
+ */
+final class BankingContext {
+
+    private BankingContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        // Passed as command-line arguments: builder properties are only defaults, below application.properties
+        return new SpringApplicationBuilder(BankingApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=3000",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.yassine.bankingapi=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+    }
+
+    /**
+     * Create active accounts, each holding the given balance
+     */
+    static List<String> seedAccounts(ConfigurableApplicationContext context, int count, BigDecimal balance) {
+        Customer customer = new Customer();
+        customer.setFirstName("Bench");
+        customer.setLastName("Mark");
+        customer.setEmail("bench@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = context.getBean(CustomerRepository.class).save(customer);
+
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = new Account();
+            account.setAccountType(AccountType.CURRENT);
+            account.setStatus(AccountStatus.ACTIVE);
+            account.setBalance(balance);
+            account.setCustomer(customer);
+            accounts.add(account);
+        }
+        return context.getBean(AccountRepository.class).saveAll(accounts).stream()
+                .map(Account::getAccountNumber)
+                .toList();
+    }
+}
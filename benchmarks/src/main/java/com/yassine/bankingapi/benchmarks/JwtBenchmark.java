@@ -0,0 +1,47 @@
+package com.yassine.bankingapi.benchmarks;
+
+import com.yassine.bankingapi.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a token (login) and of verifying one (every authenticated request)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BankingContext.start("bench_jwt");
+        jwtUtils = context.getBean(JwtUtils.class);
+        token = jwtUtils.generateToken("bench-user", "USER", 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("bench-user", "USER", 0L);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseClaims() {
+        return jwtUtils.parseClaims(token);
+    }
+}
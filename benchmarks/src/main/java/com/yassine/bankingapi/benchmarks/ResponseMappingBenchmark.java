@@ -0,0 +1,103 @@
+package com.yassine.bankingapi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yassine.bankingapi.dto.AccountResponse;
+import com.yassine.bankingapi.dto.TransactionResponse;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.model.Transaction.Direction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping entities to response DTOs and of serializing responses to JSON,
+ * with an ObjectMapper configured like Spring Boot's (JavaTimeModule, ISO dates)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    // One history page
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Account account;
+    private Transaction transaction;
+    private AccountResponse accountResponse;
+    private List<TransactionResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setFirstName("Bench");
+        customer.setLastName("Mark");
+
+        account = new Account();
+        account.setId(1L);
+        account.setAccountNumber("ACC1234567890123");
+        account.setAccountType(AccountType.CURRENT);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setBalance(new BigDecimal("1250.75"));
+        account.setCustomer(customer);
+        account.setCreatedAt(LocalDateTime.now());
+
+        transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setTransactionReference("TXN1234567890123");
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setDirection(Direction.DEBIT);
+        transaction.setAmount(new BigDecimal("100.00"));
+        transaction.setBalanceAfter(new BigDecimal("1150.75"));
+        transaction.setDescription("Transfer to ACC9876543210987");
+        transaction.setAccount(account);
+        transaction.setDestinationAccountNumber("ACC9876543210987");
+        transaction.setCreatedAt(LocalDateTime.now());
+
+        accountResponse = AccountResponse.fromAccount(account);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(TransactionResponse.fromTransaction(transaction));
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse mapTransaction() {
+        return TransactionResponse.fromTransaction(transaction);
+    }
+
+    @Benchmark
+    public AccountResponse mapAccount() {
+        return AccountResponse.fromAccount(account);
+    }
+
+    @Benchmark
+    public String serializeAccount() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(accountResponse);
+    }
+
+    @Benchmark
+    public String serializeHistoryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(page);
+    }
+}
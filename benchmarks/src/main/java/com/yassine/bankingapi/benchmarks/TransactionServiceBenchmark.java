@@ -0,0 +1,70 @@
+package com.yassine.bankingapi.benchmarks;
+
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransferDTO;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one deposit, withdrawal and transfer through TransactionService (retry,
+ * transaction, row lock, UPDATE, INSERT) against embedded H2. Operations pick random
+ * accounts among ACCOUNTS so that, with several threads, contention stays low.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private List<String> accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BankingContext.start("bench_transactions");
+        transactionService = context.getBean(TransactionService.class);
+        // Large enough that withdrawals and transfers never run dry
+        accountNumbers = BankingContext.seedAccounts(context, ACCOUNTS, new BigDecimal("1000000000.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction deposit() {
+        return transactionService.deposit(new TransactionDTO(randomAccount(), AMOUNT, "Benchmark deposit"));
+    }
+
+    @Benchmark
+    public Transaction withdraw() {
+        return transactionService.withdraw(new TransactionDTO(randomAccount(), AMOUNT, "Benchmark withdrawal"));
+    }
+
+    @Benchmark
+    public List<Transaction> transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return transactionService.transfer(new TransferDTO(accountNumbers.get(from), accountNumbers.get(to), AMOUNT,
+                "Benchmark transfer"));
+    }
+
+    private String randomAccount() {
+        return accountNumbers.get(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    }
+}
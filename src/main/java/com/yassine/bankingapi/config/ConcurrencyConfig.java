@@ -0,0 +1,137 @@
+package com.yassine.bankingapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Retry policy for balance mutations. Methods annotated with
+ * {@code @Retryable(interceptor = "concurrencyRetryInterceptor")} are replayed on lock
+ * timeouts, deadlocks, serialization failures and optimistic-lock conflicts. The retry
+ * advice is ordered before the transaction advice, so every attempt runs in a fresh
+ * database transaction. When the method joins a caller's transaction, the failed attempt
+ * has already marked it rollback-only, so the failure is left to the caller, which
+ * replays the whole unit with the same template (see IdempotencyService).
+ */
+@Configuration
+@EnableRetry
+public class ConcurrencyConfig {
+
+    @Bean
+    public RetryTemplate concurrencyRetryTemplate(
+            MeterRegistry meterRegistry,
+            @Value("${banking.concurrency.mode:PESSIMISTIC}") ConcurrencyMode mode,
+            @Value("${banking.concurrency.retry.max-attempts:3}") int maxAttempts,
+            @Value("${banking.concurrency.retry.delay-ms:50}") long delayMs,
+            @Value("${banking.concurrency.retry.max-delay-ms:1000}") long maxDelayMs,
+            @Value("${banking.concurrency.retry.multiplier:2}") double multiplier) {
+        // Jittered exponential backoff so replaying writers do not collide again in lockstep
+        ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
+        backOffPolicy.setInitialInterval(delayMs);
+        backOffPolicy.setMaxInterval(maxDelayMs);
+        backOffPolicy.setMultiplier(multiplier);
+
+        return RetryTemplate.builder()
+                .customPolicy(new OutermostTransactionRetryPolicy(maxAttempts))
+                .customBackoff(backOffPolicy)
+                .withListener(new RetryMetricsListener(meterRegistry, mode))
+                .build();
+    }
+
+    @Bean
+    public RetryOperationsInterceptor concurrencyRetryInterceptor(RetryTemplate concurrencyRetryTemplate) {
+        return RetryInterceptorBuilder.stateless()
+                .retryOperations(concurrencyRetryTemplate)
+                .build();
+    }
+
+    /**
+     * Retries concurrency failures (causes included), but only outside any transaction:
+     * an attempt that ran inside a caller's transaction cannot be replayed on its own
+     */
+    static class OutermostTransactionRetryPolicy extends SimpleRetryPolicy {
+
+        OutermostTransactionRetryPolicy(int maxAttempts) {
+            super(maxAttempts, Map.of(ConcurrencyFailureException.class, true), true);
+        }
+
+        @Override
+        public boolean canRetry(RetryContext context) {
+            if (context.getRetryCount() > 0 && TransactionSynchronizationManager.isActualTransactionActive()) {
+                return false;
+            }
+            return super.canRetry(context);
+        }
+    }
+
+    /**
+     * Counts replays and exhausted retries per operation
+     */
+    static class RetryMetricsListener implements RetryListener {
+
+        private final MeterRegistry meterRegistry;
+        private final String mode;
+
+        RetryMetricsListener(MeterRegistry meterRegistry, ConcurrencyMode mode) {
+            this.meterRegistry = meterRegistry;
+            this.mode = mode.name().toLowerCase();
+        }
+
+        @Override
+        public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                     Throwable throwable) {
+            // Not replayed here when inside a caller's transaction: the caller counts it
+            if (!isConcurrencyFailure(throwable) || TransactionSynchronizationManager.isActualTransactionActive()) {
+                return;
+            }
+            meterRegistry.counter("banking.concurrency.retries",
+                    "operation", operationName(context, callback),
+                    "mode", mode,
+                    "exception", throwable.getClass().getSimpleName()).increment();
+        }
+
+        @Override
+        public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                                   Throwable throwable) {
+            if (isConcurrencyFailure(throwable) && !TransactionSynchronizationManager.isActualTransactionActive()) {
+                meterRegistry.counter("banking.concurrency.retries.exhausted",
+                        "operation", operationName(context, callback),
+                        "mode", mode).increment();
+            }
+        }
+
+        private boolean isConcurrencyFailure(Throwable throwable) {
+            for (Throwable t = throwable; t != null; t = t.getCause()) {
+                if (t instanceof ConcurrencyFailureException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private String operationName(RetryContext context, RetryCallback<?, ?> callback) {
+            if (context.hasAttribute(RetryContext.NAME)) {
+                return (String) context.getAttribute(RetryContext.NAME);
+            }
+            if (callback instanceof MethodInvocationRetryCallback<?, ?> methodCallback) {
+                return methodCallback.getInvocation().getMethod().getName();
+            }
+            return "unknown";
+        }
+    }
+}
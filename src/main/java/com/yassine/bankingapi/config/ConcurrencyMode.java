@@ -0,0 +1,9 @@
+package com.yassine.bankingapi.config;
+
+/**
+ * How concurrent balance mutations are serialized (banking.concurrency.mode)
+ */
+public enum ConcurrencyMode {
+    PESSIMISTIC,    // Row locks (SELECT ... FOR UPDATE) in a stable order
+    OPTIMISTIC      // Plain reads, @Version check on commit, replay on conflict
+}
@@ -0,0 +1,109 @@
+package com.yassine.bankingapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yassine.bankingapi.exception.ErrorResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests in flight to what the connection pool can serve.
+ * With virtual threads Tomcat no longer bounds concurrency, and with open-in-view
+ * every request holds a connection: without this guard thousands of requests would
+ * pile up in HikariCP and fail after connection-timeout. Extra requests wait briefly
+ * for a permit, then get a 503. Enabled by default in virtual-thread mode.
+ */
+@Component
+@ConditionalOnExpression("${banking.request-limit.enabled:${spring.threads.virtual.enabled:false}}")
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ObjectMapper objectMapper;
+
+    public RequestConcurrencyLimitFilter(DataSource dataSource,
+                                         MeterRegistry meterRegistry,
+                                         ObjectMapper objectMapper,
+                                         @Value("${banking.request-limit.permits:0}") int permits,
+                                         @Value("${banking.request-limit.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        // 0 = one permit per pooled connection
+        int size = permits > 0 ? permits : poolSize(dataSource);
+        this.permits = new Semaphore(size, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.objectMapper = objectMapper;
+        Gauge.builder("banking.requests.permits.available", this.permits, Semaphore::availablePermits)
+                .description("Free slots of the request concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Login/register are bounded by their own hashing pool
+        String path = request.getServletPath();
+        return !path.startsWith("/api/") || path.startsWith("/api/auth");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The server is at capacity, please retry"
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // The pool may sit behind the SQL statement proxy
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // Not a Hikari pool
+        }
+        return 10;
+    }
+}
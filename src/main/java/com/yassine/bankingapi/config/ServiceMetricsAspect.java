@@ -0,0 +1,69 @@
+package com.yassine.bankingapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Times every public operation of the business services as banking.service.calls,
+ * tagged by service, operation and outcome ("success" or the exception's simple name,
+ * e.g. BadRequestException). Ordered first, so the time includes retries and the
+ * commit. For asynchronous operations (CompletableFuture) the timer stops when the
+ * future completes.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    static final String METRIC = "banking.service.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.yassine.bankingapi.service.TransactionService.*(..))"
+            + " || execution(public * com.yassine.bankingapi.service.AccountService.*(..))"
+            + " || execution(public * com.yassine.bankingapi.service.CustomerService.*(..))"
+            + " || execution(public * com.yassine.bankingapi.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String operation = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(sample, service, operation, e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> stop(sample, service, operation, error));
+        } else {
+            stop(sample, service, operation, null);
+        }
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String service, String operation, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        sample.stop(Timer.builder(METRIC)
+                .description("Business service operations")
+                .tag("service", service)
+                .tag("operation", operation)
+                .tag("outcome", error == null ? "success" : error.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+}
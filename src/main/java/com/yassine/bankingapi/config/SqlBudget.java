@@ -0,0 +1,24 @@
+package com.yassine.bankingapi.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements one request to a controller method may execute,
+ * overriding banking.sql.statement-budget. Requests over budget are logged and counted
+ * (N+1 detection); with banking.sql.fail-on-budget-exceeded=true they throw, which
+ * fails the MockMvc test that issued them.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /**
+     * Maximum statements per request, including the authentication lookup
+     */
+    int value();
+}
@@ -0,0 +1,135 @@
+package com.yassine.bankingapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the SQL statements and database time of each API request.
+ * The totals go to the request log line and to the banking.request.sql.* metrics,
+ * tagged by URI pattern. A request over its statement budget (@SqlBudget on the
+ * controller method, or banking.sql.statement-budget) is logged as a likely N+1 and
+ * counted; with banking.sql.fail-on-budget-exceeded=true it throws instead, for tests.
+ * Runs before the security filters, so the authentication lookup is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "banking.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+    private static final String STATS_ATTRIBUTE = SqlStatementFilter.class.getName() + ".stats";
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final boolean failOnBudgetExceeded;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${banking.sql.statement-budget:20}") int statementBudget,
+                              @Value("${banking.sql.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    // Path within the application rather than the servlet path, which MockMvc leaves empty
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !URL_PATH_HELPER.getPathWithinApplication(request).startsWith("/api/");
+    }
+
+    // Deposits, withdrawals and transfers complete in an async dispatch: keep counting there
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = (SqlStatementStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = new SqlStatementStats();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+        SqlStatementStats.bind(stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.unbind();
+        }
+        if (!request.isAsyncStarted()) {
+            report(request, response, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatementStats stats) {
+        String uri = uriPattern(request);
+        int budget = budget(request);
+        DistributionSummary.builder("banking.request.sql.statements")
+                .description("SQL statements executed per API request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("banking.request.sql.time")
+                .description("Database time per API request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getElapsedMs(), TimeUnit.MILLISECONDS);
+
+        log.debug("{} {} -> {}: {} SQL statements, {} ms in the database",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), stats.getStatements(), stats.getElapsedMs());
+        if (stats.getSlowStatements() > 0) {
+            log.warn("{} {} ran {} slow SQL statements", request.getMethod(), uri, stats.getSlowStatements());
+        }
+        if (stats.getStatements() > budget) {
+            Counter.builder("banking.request.sql.budget.exceeded")
+                    .description("API requests over their SQL statement budget")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            String message = String.format("%s %s ran %d SQL statements, budget is %d (N+1 queries?)",
+                    request.getMethod(), uri, stats.getStatements(), budget);
+            if (failOnBudgetExceeded) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private int budget(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            SqlBudget sqlBudget = handler.getMethodAnnotation(SqlBudget.class);
+            if (sqlBudget != null) {
+                return sqlBudget.value();
+            }
+        }
+        return statementBudget;
+    }
+
+    // The route template, not the raw path, keeps the metric tags bounded
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
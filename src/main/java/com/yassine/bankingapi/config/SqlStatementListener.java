@@ -0,0 +1,48 @@
+package com.yassine.bankingapi.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Counts every statement execution (a JDBC batch counts once: one round trip) into the
+ * current request's SqlStatementStats, and logs statements slower than the threshold.
+ * Each statement is logged at TRACE, replacing spring.jpa.show-sql.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementListener.class);
+
+    private final long slowQueryMs;
+
+    public SqlStatementListener(long slowQueryMs) {
+        this.slowQueryMs = slowQueryMs;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean slow = elapsedMs >= slowQueryMs;
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(elapsedMs, slow);
+        }
+        if (slow) {
+            log.warn("Slow SQL ({} ms, batch of {}): {}", elapsedMs, execInfo.getBatchSize(), query(queryInfoList));
+        } else if (log.isTraceEnabled()) {
+            log.trace("SQL ({} ms): {}", elapsedMs, query(queryInfoList));
+        }
+    }
+
+    private static String query(List<QueryInfo> queryInfoList) {
+        return queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+    }
+}
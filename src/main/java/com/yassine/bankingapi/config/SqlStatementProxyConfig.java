@@ -0,0 +1,38 @@
+package com.yassine.bankingapi.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in a datasource-proxy that reports every statement to
+ * SqlStatementListener. The pool itself stays reachable through DataSource.unwrap.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementProxyConfig {
+
+    // Static: post-processors are created before the regular beans
+    @Bean
+    public static BeanPostProcessor sqlStatementProxyPostProcessor(@Value("${banking.sql.slow-query-ms:200}") long slowQueryMs) {
+        SqlStatementListener listener = new SqlStatementListener(slowQueryMs);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.yassine.bankingapi.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL statements executed on behalf of one HTTP request.
+ * Bound to the request thread by SqlStatementFilter and fed by SqlStatementListener.
+ * Work handed to another thread (account lanes, the deposit ledger) is not attributed.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger slowStatements = new AtomicInteger();
+    private final AtomicLong elapsedMs = new AtomicLong();
+
+    /**
+     * The stats of the request running on this thread, or null outside a request
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    static void bind(SqlStatementStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    void record(long elapsedMs, boolean slow) {
+        statements.incrementAndGet();
+        this.elapsedMs.addAndGet(elapsedMs);
+        if (slow) {
+            slowStatements.incrementAndGet();
+        }
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public int getSlowStatements() {
+        return slowStatements.get();
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs.get();
+    }
+}
@@ -1,8 +1,12 @@
 package com.yassine.bankingapi.controller;
 
+import com.yassine.bankingapi.config.SqlBudget;
 import com.yassine.bankingapi.dto.AccountDTO;
 import com.yassine.bankingapi.dto.AccountResponse;
+import com.yassine.bankingapi.dto.CursorPageResponse;
 import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
 import com.yassine.bankingapi.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,12 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -44,21 +50,26 @@ public class AccountController {
     }
 
     /**
-     * Get all accounts
+     * Get accounts page by page (keyset pagination)
      */
     @GetMapping
-    @Operation(summary = "Get all accounts", description = "Retrieve all bank accounts")
-    @ApiResponse(responseCode = "200", description = "List of accounts retrieved successfully")
-    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
-        List<AccountResponse> responses = accountService.getAllAccounts().stream()
-                .map(AccountResponse::fromAccount)
-                .toList();
-        return ResponseEntity.ok(responses);
+    @Operation(summary = "Get accounts", description = "Retrieve bank accounts ordered by id, one page at a time, optionally filtered by status and type. Pass nextCursor as cursor to get the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of accounts retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<CursorPageResponse<AccountResponse>> getAccounts(
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Account status (ACTIVE, SUSPENDED, CLOSED)") @RequestParam(required = false) AccountStatus status,
+            @Parameter(description = "Account type (SAVINGS, CURRENT)") @RequestParam(required = false) AccountType accountType) {
+        return ResponseEntity.ok(accountService.getAccounts(cursor, limit, status, accountType));
     }
 
     /**
      * Get account by account number
      */
+    @SqlBudget(3)
     @GetMapping("/{accountNumber}")
     @Operation(summary = "Get account by number", description = "Retrieve account details by account number")
     @ApiResponses(value = {
@@ -67,12 +78,13 @@ public class AccountController {
     })
     public ResponseEntity<AccountResponse> getAccountByNumber(
             @Parameter(description = "Account number") @PathVariable String accountNumber) {
-        return ResponseEntity.ok(AccountResponse.fromAccount(accountService.getAccountByNumber(accountNumber)));
+        return ResponseEntity.ok(accountService.getAccountSnapshot(accountNumber));
     }
 
     /**
      * Get account balance
      */
+    @SqlBudget(3)
     @GetMapping("/{accountNumber}/balance")
     @Operation(summary = "Get account balance", description = "Get the current balance of an account")
     @ApiResponse(responseCode = "200", description = "Balance retrieved successfully")
@@ -81,6 +93,23 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getBalance(accountNumber));
     }
 
+    /**
+     * Get account balance at a point in time
+     */
+    @SqlBudget(5)
+    @GetMapping("/{accountNumber}/balance/at")
+    @Operation(summary = "Get historical balance", description = "Get the balance of an account as of a date and time, from daily balance snapshots")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Account did not exist at that time"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<BigDecimal> getBalanceAt(
+            @Parameter(description = "Account number") @PathVariable String accountNumber,
+            @Parameter(description = "Date and time (yyyy-MM-ddTHH:mm:ss)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(accountService.getBalanceAt(accountNumber, at));
+    }
+
     /**
      * Get all accounts for a customer
      */
@@ -92,10 +121,7 @@ public class AccountController {
     })
     public ResponseEntity<List<AccountResponse>> getCustomerAccounts(
             @Parameter(description = "Customer ID") @PathVariable Long customerId) {
-        List<AccountResponse> responses = accountService.getCustomerAccounts(customerId).stream()
-                .map(AccountResponse::fromAccount)
-                .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(accountService.getCustomerAccounts(customerId));
     }
 
     /**
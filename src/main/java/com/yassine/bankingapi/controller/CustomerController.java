@@ -59,11 +59,16 @@ public class CustomerController {
      * GET /api/customers/search - Rechercher des clients
      */
     @GetMapping("/search")
-    @Operation(summary = "Search customers", description = "Search customers by name or email")
-    @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
-    public ResponseEntity<List<CustomerResponse>> searchCustomers(
-            @Parameter(description = "Search keyword (name or email)") @RequestParam String keyword) {
-        return ResponseEntity.ok(customerService.searchCustomers(keyword));
+    @Operation(summary = "Search customers", description = "Search customers by name or email (prefix and fuzzy matching), best matches first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page or size")
+    })
+    public ResponseEntity<PageResponse<CustomerResponse>> searchCustomers(
+            @Parameter(description = "Search keyword (name or email)") @RequestParam String keyword,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(customerService.searchCustomers(keyword, page, size));
     }
 
     /**
@@ -1,10 +1,21 @@
 package com.yassine.bankingapi.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.yassine.bankingapi.config.SqlBudget;
+import com.yassine.bankingapi.dto.BatchTransactionDTO;
+import com.yassine.bankingapi.dto.BatchTransactionResponse;
+import com.yassine.bankingapi.dto.CursorPageResponse;
+import com.yassine.bankingapi.dto.MonthlyStatementResponse;
 import com.yassine.bankingapi.dto.TransactionDTO;
 import com.yassine.bankingapi.dto.TransactionResponse;
 import com.yassine.bankingapi.dto.TransferDTO;
-import com.yassine.bankingapi.model.Transaction;
 import com.yassine.bankingapi.model.Transaction.TransactionType;
+import com.yassine.bankingapi.service.AccountLaneExecutor;
+import com.yassine.bankingapi.service.DepositLedger;
+import com.yassine.bankingapi.service.IdempotencyService;
+import com.yassine.bankingapi.service.TransactionBatchService;
+import com.yassine.bankingapi.service.TransactionExportService;
+import com.yassine.bankingapi.service.TransactionExportService.ExportFormat;
 import com.yassine.bankingapi.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,70 +24,128 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/transactions")
 @Tag(name = "Transactions", description = "Banking transaction APIs")
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Optional unique key: a retried request with the same key returns the original response without moving money again";
+
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionExportService transactionExportService;
+    private final IdempotencyService idempotencyService;
+    private final DepositLedger depositLedger;
+    private final AccountLaneExecutor accountLaneExecutor;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionBatchService transactionBatchService,
+                                 TransactionExportService transactionExportService, IdempotencyService idempotencyService,
+                                 DepositLedger depositLedger, AccountLaneExecutor accountLaneExecutor) {
         this.transactionService = transactionService;
+        this.transactionBatchService = transactionBatchService;
+        this.transactionExportService = transactionExportService;
+        this.idempotencyService = idempotencyService;
+        this.depositLedger = depositLedger;
+        this.accountLaneExecutor = accountLaneExecutor;
     }
 
     /**
      * Deposit money into an account
      */
+    @SqlBudget(10)
     @PostMapping("/deposit")
     @Operation(summary = "Deposit money", description = "Deposit money into a bank account")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Deposit successful"),
             @ApiResponse(responseCode = "400", description = "Invalid amount or account not active"),
-            @ApiResponse(responseCode = "404", description = "Account not found")
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key reused with a different request"),
+            @ApiResponse(responseCode = "429", description = "Deposit ledger or account lane full")
     })
-    public ResponseEntity<TransactionResponse> deposit(@Valid @RequestBody TransactionDTO dto) {
-        Transaction transaction = transactionService.deposit(dto);
-        return new ResponseEntity<>(TransactionResponse.fromTransaction(transaction), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<TransactionResponse>> deposit(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal,
+            @Valid @RequestBody TransactionDTO dto) {
+        return executeDeposit(principal.getName(), idempotencyKey, dto)
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
     }
 
     /**
      * Withdraw money from an account
      */
+    @SqlBudget(10)
     @PostMapping("/withdraw")
     @Operation(summary = "Withdraw money", description = "Withdraw money from a bank account")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Withdrawal successful"),
             @ApiResponse(responseCode = "400", description = "Insufficient balance, invalid amount, or account not active"),
-            @ApiResponse(responseCode = "404", description = "Account not found")
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key reused with a different request"),
+            @ApiResponse(responseCode = "429", description = "Account lane full")
     })
-    public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody TransactionDTO dto) {
-        Transaction transaction = transactionService.withdraw(dto);
-        return new ResponseEntity<>(TransactionResponse.fromTransaction(transaction), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<TransactionResponse>> withdraw(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal,
+            @Valid @RequestBody TransactionDTO dto) {
+        return accountLaneExecutor.submit(dto.getAccountNumber(),
+                        () -> idempotencyService.execute(principal.getName(), idempotencyKey, "withdraw", dto,
+                                HttpStatus.CREATED.value(), new TypeReference<TransactionResponse>() { },
+                                () -> TransactionResponse.fromTransaction(transactionService.withdraw(dto))))
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
     }
 
     /**
      * Transfer money between two accounts
      */
+    @SqlBudget(12)
     @PostMapping("/transfer")
     @Operation(summary = "Transfer money", description = "Transfer money between two bank accounts")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Transfer successful"),
             @ApiResponse(responseCode = "400", description = "Insufficient balance, invalid amount, same account, or accounts not active"),
-            @ApiResponse(responseCode = "404", description = "Account not found")
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key reused with a different request"),
+            @ApiResponse(responseCode = "429", description = "Account lane full")
     })
-    public ResponseEntity<List<TransactionResponse>> transfer(@Valid @RequestBody TransferDTO dto) {
-        List<Transaction> transactions = transactionService.transfer(dto);
-        List<TransactionResponse> responses = transactions.stream()
-                .map(TransactionResponse::fromTransaction)
-                .toList();
-        return new ResponseEntity<>(responses, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<List<TransactionResponse>>> transfer(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal,
+            @Valid @RequestBody TransferDTO dto) {
+        return accountLaneExecutor.submit(dto.getFromAccountNumber(), dto.getToAccountNumber(),
+                        () -> idempotencyService.execute(principal.getName(), idempotencyKey, "transfer", dto,
+                                HttpStatus.CREATED.value(), new TypeReference<List<TransactionResponse>>() { },
+                                () -> transactionService.transfer(dto).stream()
+                                        .map(TransactionResponse::fromTransaction)
+                                        .toList()))
+                .thenApply(responses -> new ResponseEntity<>(responses, HttpStatus.CREATED));
+    }
+
+    /**
+     * Apply a batch of deposits, withdrawals and transfers
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Batch transactions", description = "Apply up to 10000 deposits, withdrawals and transfers with per-item results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid batch")
+    })
+    public ResponseEntity<BatchTransactionResponse> batch(@Valid @RequestBody BatchTransactionDTO dto) {
+        return ResponseEntity.ok(transactionBatchService.processBatch(dto));
     }
 
     /**
@@ -87,10 +156,66 @@ public class TransactionController {
     @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully")
     public ResponseEntity<List<TransactionResponse>> getAccountTransactions(
             @Parameter(description = "Account number") @PathVariable String accountNumber) {
-        List<TransactionResponse> responses = transactionService.getAccountTransactions(accountNumber).stream()
-                .map(TransactionResponse::fromTransaction)
-                .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(transactionService.getAccountTransactions(accountNumber));
+    }
+
+    /**
+     * Get an account's history page by page (keyset pagination)
+     */
+    @SqlBudget(4)
+    @GetMapping("/account/{accountNumber}/history")
+    @Operation(summary = "Get account history (cursor)", description = "Get an account's transactions newest first, one page at a time. Pass nextCursor as cursor to get the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of transactions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> getAccountTransactionHistory(
+            @Parameter(description = "Account number") @PathVariable String accountNumber,
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(transactionService.getAccountTransactionHistory(accountNumber, cursor, limit));
+    }
+
+    /**
+     * Get an account's monthly statement summaries
+     */
+    @SqlBudget(4)
+    @GetMapping("/account/{accountNumber}/statement")
+    @Operation(summary = "Get monthly statements", description = "Get per-month counts and totals of deposits, withdrawals and incoming/outgoing transfers, with the minimum and maximum balance, computed in the database")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statements retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid month range"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<List<MonthlyStatementResponse>> getMonthlyStatements(
+            @Parameter(description = "Account number") @PathVariable String accountNumber,
+            @Parameter(description = "First month (yyyy-MM)") @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month, inclusive (yyyy-MM)") @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(transactionService.getMonthlyStatements(accountNumber, from, to));
+    }
+
+    /**
+     * Export an account's full history as a stream
+     */
+    @GetMapping("/account/{accountNumber}/export")
+    @Operation(summary = "Export account transactions", description = "Stream the full transaction history of an account as NDJSON or CSV, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "Account number") @PathVariable String accountNumber,
+            @Parameter(description = "Export format (NDJSON, CSV)") @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        Long accountId = transactionExportService.resolveAccountId(accountNumber);
+        StreamingResponseBody body = out -> transactionExportService.exportTransactions(accountId, accountNumber, format, out);
+
+        boolean csv = format == ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + accountNumber + "-transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     /**
@@ -108,21 +233,18 @@ public class TransactionController {
             @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        List<Transaction> transactions;
+        List<TransactionResponse> responses;
         
         if (type != null && startDate != null && endDate != null) {
-            transactions = transactionService.getAccountTransactionsFiltered(accountNumber, type, startDate, endDate);
+            responses = transactionService.getAccountTransactionsFiltered(accountNumber, type, startDate, endDate);
         } else if (startDate != null && endDate != null) {
-            transactions = transactionService.getAccountTransactionsByDateRange(accountNumber, startDate, endDate);
+            responses = transactionService.getAccountTransactionsByDateRange(accountNumber, startDate, endDate);
         } else if (type != null) {
-            transactions = transactionService.getAccountTransactionsByType(accountNumber, type);
+            responses = transactionService.getAccountTransactionsByType(accountNumber, type);
         } else {
-            transactions = transactionService.getAccountTransactions(accountNumber);
+            responses = transactionService.getAccountTransactions(accountNumber);
         }
         
-        List<TransactionResponse> responses = transactions.stream()
-                .map(TransactionResponse::fromTransaction)
-                .toList();
         return ResponseEntity.ok(responses);
     }
 
@@ -137,6 +259,21 @@ public class TransactionController {
     })
     public ResponseEntity<TransactionResponse> getTransactionById(
             @Parameter(description = "Transaction ID") @PathVariable Long id) {
-        return ResponseEntity.ok(TransactionResponse.fromTransaction(transactionService.getTransactionById(id)));
+        return ResponseEntity.ok(transactionService.getTransactionById(id));
+    }
+
+    /**
+     * Plain deposits go through the group-commit ledger when it is enabled; a deposit with an
+     * Idempotency-Key needs its own transaction (the key is recorded with it) and runs on the
+     * account's lane like any other mutation
+     */
+    private CompletableFuture<TransactionResponse> executeDeposit(String username, String idempotencyKey, TransactionDTO dto) {
+        if (idempotencyKey == null && depositLedger.isEnabled()) {
+            return depositLedger.submit(dto);
+        }
+        return accountLaneExecutor.submit(dto.getAccountNumber(),
+                () -> idempotencyService.execute(username, idempotencyKey, "deposit", dto,
+                        HttpStatus.CREATED.value(), new TypeReference<TransactionResponse>() { },
+                        () -> TransactionResponse.fromTransaction(transactionService.deposit(dto))));
     }
 }
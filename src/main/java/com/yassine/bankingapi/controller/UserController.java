@@ -0,0 +1,59 @@
+package com.yassine.bankingapi.controller;
+
+import com.yassine.bankingapi.model.User;
+import com.yassine.bankingapi.service.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@Tag(name = "Users", description = "User administration APIs")
+public class UserController {
+
+    private final AuthService authService;
+
+    public UserController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    /**
+     * Revoke all tokens of a user (ADMIN only)
+     */
+    @PostMapping("/{username}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Revoke user tokens", description = "Invalidate every JWT issued so far to a user, forcing a new login (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<Void> revokeTokens(
+            @Parameter(description = "Username") @PathVariable String username) {
+        authService.revokeTokens(username);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Change the role of a user (ADMIN only)
+     */
+    @PutMapping("/{username}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Change user role", description = "Set the role of a user; tokens issued with the previous role are revoked (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Role changed successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<Void> changeRole(
+            @Parameter(description = "Username") @PathVariable String username,
+            @Parameter(description = "New role (USER, ADMIN)") @RequestParam User.Role role) {
+        authService.changeRole(username, role);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.yassine.bankingapi.dto;
 
 import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,6 +24,14 @@ public class AccountResponse {
     private String customerName;
     private LocalDateTime createdAt;
 
+    // Constructor expression target of AccountRepository.RESPONSE_SELECT
+    public AccountResponse(Long id, String accountNumber, AccountType accountType, BigDecimal balance,
+                           AccountStatus status, Long customerId, String customerFirstName, String customerLastName,
+                           LocalDateTime createdAt) {
+        this(id, accountNumber, accountType.name(), balance, status.name(), customerId,
+                customerFirstName + " " + customerLastName, createdAt);
+    }
+
     public static AccountResponse fromAccount(Account account) {
         AccountResponse response = new AccountResponse();
         response.setId(account.getId());
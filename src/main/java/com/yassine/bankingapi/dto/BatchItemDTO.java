@@ -0,0 +1,35 @@
+package com.yassine.bankingapi.dto;
+
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One operation of a batch: a deposit, a withdrawal or a transfer
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemDTO {
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    @NotBlank(message = "Account number is required")
+    private String accountNumber;
+
+    // Required for transfers only
+    private String destinationAccountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    private String description;
+}
@@ -0,0 +1,29 @@
+package com.yassine.bankingapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one batch item, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private String type;
+    private boolean success;
+    private String error;
+    private List<TransactionResponse> transactions;
+
+    public static BatchItemResult success(int index, String type, List<TransactionResponse> transactions) {
+        return new BatchItemResult(index, type, true, null, transactions);
+    }
+
+    public static BatchItemResult failure(int index, String type, String error) {
+        return new BatchItemResult(index, type, false, error, List.of());
+    }
+}
@@ -0,0 +1,20 @@
+package com.yassine.bankingapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionDTO {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 10000, message = "A batch cannot contain more than 10000 items")
+    private List<@Valid BatchItemDTO> items;
+}
@@ -0,0 +1,29 @@
+package com.yassine.bankingapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyStatementResponse {
+
+    private String month; // yyyy-MM
+    private long depositCount;
+    private BigDecimal depositTotal = BigDecimal.ZERO;
+    private long withdrawalCount;
+    private BigDecimal withdrawalTotal = BigDecimal.ZERO;
+    private long transferInCount;
+    private BigDecimal transferInTotal = BigDecimal.ZERO;
+    private long transferOutCount;
+    private BigDecimal transferOutTotal = BigDecimal.ZERO;
+    private BigDecimal minBalance;
+    private BigDecimal maxBalance;
+
+    public MonthlyStatementResponse(String month) {
+        this.month = month;
+    }
+}
@@ -0,0 +1,25 @@
+package com.yassine.bankingapi.dto;
+
+import com.yassine.bankingapi.model.Transaction.Direction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of TransactionRepository.findStatementAggregates: the totals of an account's
+ * transactions of one type and direction within one month
+ */
+@Getter
+@AllArgsConstructor
+public class StatementAggregate {
+    private Integer year;
+    private Integer month;
+    private TransactionType type;
+    private Direction direction;
+    private Long count;
+    private BigDecimal total;
+    private BigDecimal minBalance;
+    private BigDecimal maxBalance;
+}
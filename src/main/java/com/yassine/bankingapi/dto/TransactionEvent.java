@@ -0,0 +1,48 @@
+package com.yassine.bankingapi.dto;
+
+import com.yassine.bankingapi.model.OutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Event published for each committed transaction (one per leg for transfers).
+ * Delivery is at least once: consumers deduplicate on eventId. Events of one account
+ * carry consecutive sequence numbers, in commit order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionEvent {
+
+    private Long eventId;
+    private String accountNumber;
+    private Long sequence;
+    private Long transactionId;
+    private String transactionReference;
+    private String type;
+    private String direction;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private String destinationAccountNumber;
+    private LocalDateTime occurredAt;
+
+    public static TransactionEvent fromOutboxEvent(OutboxEvent event) {
+        return new TransactionEvent(
+                event.getId(),
+                event.getAccountNumber(),
+                event.getAccountSequence(),
+                event.getTransactionId(),
+                event.getTransactionReference(),
+                event.getType().name(),
+                event.getDirection().name(),
+                event.getAmount(),
+                event.getBalanceAfter(),
+                event.getDestinationAccountNumber(),
+                event.getOccurredAt()
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.yassine.bankingapi.dto;
 
 import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,6 +24,14 @@ public class TransactionResponse {
     private String destinationAccountNumber;
     private LocalDateTime createdAt;
 
+    // Constructor expression target of TransactionRepository.RESPONSE_SELECT
+    public TransactionResponse(Long id, String transactionReference, TransactionType type, BigDecimal amount,
+                               BigDecimal balanceAfter, String description, String accountNumber,
+                               String destinationAccountNumber, LocalDateTime createdAt) {
+        this(id, transactionReference, type.name(), amount, balanceAfter, description, accountNumber,
+                destinationAccountNumber, createdAt);
+    }
+
     public static TransactionResponse fromTransaction(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
         response.setId(transaction.getId());
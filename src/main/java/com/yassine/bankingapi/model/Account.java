@@ -12,6 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "accounts")
+@EntityListeners(ReferenceListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +43,13 @@ public class Account {
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Transaction> transactions = new ArrayList<>();
 
+    @Version
+    private Long version;
+
+    // Position of the account's last outbox event; only advanced by a bulk UPDATE under the row lock
+    @Column(name = "event_sequence", nullable = false, updatable = false)
+    private Long eventSequence = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -52,9 +60,6 @@ public class Account {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (accountNumber == null) {
-            accountNumber = generateAccountNumber();
-        }
     }
 
     @PreUpdate
@@ -62,10 +67,6 @@ public class Account {
         updatedAt = LocalDateTime.now();
     }
 
-    private String generateAccountNumber() {
-        return "ACC" + System.currentTimeMillis();
-    }
-
     public enum AccountType {
         SAVINGS,    // Compte Épargne
         CURRENT     // Compte Courant
@@ -1,5 +1,6 @@
 package com.yassine.bankingapi.model;
 
+import com.yassine.bankingapi.service.CustomerSearchListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "customers")
+@EntityListeners(CustomerSearchListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,49 @@
+package com.yassine.bankingapi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Balance of an account after its latest transaction of a day, kept up to date by each
+ * balance change: once the day is over, it is the day's closing balance. Days without
+ * activity have no row: the balance carries over from the previous snapshot.
+ */
+@Entity
+@Table(name = "daily_balance_snapshots", uniqueConstraints =
+        // Nearest snapshot lookup: WHERE account_id = ? AND snapshot_date < ? ORDER BY snapshot_date DESC
+        @UniqueConstraint(name = "uk_daily_balance_snapshots_account_date", columnNames = {"account_id", "snapshot_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_balance_snapshots_seq")
+    @SequenceGenerator(name = "daily_balance_snapshots_seq", sequenceName = "daily_balance_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "closing_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal closingBalance;
+
+    // Latest transaction of the day, the one whose balanceAfter is the closing balance
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    public DailyBalanceSnapshot(Long accountId, LocalDate snapshotDate, BigDecimal closingBalance, Long lastTransactionId) {
+        this.accountId = accountId;
+        this.snapshotDate = snapshotDate;
+        this.closingBalance = closingBalance;
+        this.lastTransactionId = lastTransactionId;
+    }
+}
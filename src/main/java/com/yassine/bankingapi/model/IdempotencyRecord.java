@@ -0,0 +1,98 @@
+package com.yassine.bankingapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a request sent with an Idempotency-Key header.
+ * Keys are scoped to the authenticated user: the same key sent by two users names
+ * two different records, so one user can never replay another's response.
+ * The row is inserted at the start of the money movement's database transaction
+ * and completed with the response before it commits, so a key is recorded if and
+ * only if its operation committed.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created", columnList = "created_at"))
+@IdClass(IdempotencyRecord.RecordId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyRecord implements Persistable<IdempotencyRecord.RecordId> {
+
+    // Username of the caller that sent the key
+    @Id
+    @Column(name = "principal", length = 255)
+    private String principal;
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    // SHA-256 of the operation and the request body: a key cannot be reused for another request
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // HTTP status of the stored response
+    @Column(nullable = false)
+    private int status;
+
+    @Lob
+    @Column(name = "response_body", nullable = false)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Always INSERT: a concurrent duplicate must fail on the primary key, never be merged
+    @Transient
+    private boolean newRecord = true;
+
+    public IdempotencyRecord(RecordId id, String requestHash, int status, String responseBody) {
+        this.principal = id.getPrincipal();
+        this.key = id.getKey();
+        this.requestHash = requestHash;
+        this.status = status;
+        this.responseBody = responseBody;
+    }
+
+    @Override
+    public RecordId getId() {
+        return new RecordId(principal, key);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        newRecord = false;
+    }
+
+    /**
+     * Primary key: the caller and the key it sent
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class RecordId implements Serializable {
+        private String principal;
+        private String key;
+    }
+}
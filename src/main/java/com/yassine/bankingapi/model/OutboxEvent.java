@@ -0,0 +1,87 @@
+package com.yassine.bankingapi.model;
+
+import com.yassine.bankingapi.model.Transaction.Direction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A committed transaction waiting to be published to downstream consumers.
+ * Written in the same database transaction as the Transaction it describes, so an
+ * event exists if and only if the money movement committed. The relay publishes
+ * pending rows in (accountNumber, accountSequence) order and stamps publishedAt;
+ * published rows are purged later.
+ */
+@Entity
+@Table(name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_events_pending", columnList = "published_at, account_number, account_sequence"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_events_account_sequence", columnNames = {"account_number", "account_sequence"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    // Pooled sequence, so the outbox INSERTs are batched with the transaction's own
+    // (allocation order, not commit order: never use it for ordering)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    // Partition key: events of one account are delivered in accountSequence order
+    @Column(name = "account_number", nullable = false)
+    private String accountNumber;
+
+    // 1, 2, 3... per account, reserved under the account row lock, so in commit order
+    @Column(name = "account_sequence", nullable = false)
+    private Long accountSequence;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "transaction_reference", nullable = false)
+    private String transactionReference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 6)
+    private Direction direction;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", precision = 19, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "destination_account_number")
+    private String destinationAccountNumber;
+
+    // When the transaction happened
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Null until the relay has handed the event to the sink
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(Transaction transaction, long accountSequence) {
+        this.accountNumber = transaction.getAccount().getAccountNumber();
+        this.accountSequence = accountSequence;
+        this.transactionId = transaction.getId();
+        this.transactionReference = transaction.getTransactionReference();
+        this.type = transaction.getType();
+        this.direction = transaction.getDirection();
+        this.amount = transaction.getAmount();
+        this.balanceAfter = transaction.getBalanceAfter();
+        this.destinationAccountNumber = transaction.getDestinationAccountNumber();
+        this.occurredAt = transaction.getCreatedAt();
+    }
+}
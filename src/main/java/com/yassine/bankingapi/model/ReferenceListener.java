@@ -0,0 +1,26 @@
+package com.yassine.bankingapi.model;
+
+import com.yassine.bankingapi.service.ReferenceGenerator;
+import jakarta.persistence.PrePersist;
+
+/**
+ * Assigns account numbers and transaction references on insert.
+ * Instantiated by Hibernate through the Spring bean container, so the generator is injected.
+ */
+public class ReferenceListener {
+
+    private final ReferenceGenerator referenceGenerator;
+
+    public ReferenceListener(ReferenceGenerator referenceGenerator) {
+        this.referenceGenerator = referenceGenerator;
+    }
+
+    @PrePersist
+    public void assignReference(Object entity) {
+        if (entity instanceof Account account && account.getAccountNumber() == null) {
+            account.setAccountNumber(referenceGenerator.nextReference("ACC"));
+        } else if (entity instanceof Transaction transaction && transaction.getTransactionReference() == null) {
+            transaction.setTransactionReference(referenceGenerator.nextReference("TXN"));
+        }
+    }
+}
@@ -9,14 +9,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Keyset pagination of an account's history: WHERE account_id = ? ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_transactions_account_created_id", columnList = "account_id, created_at, id")
+})
+@EntityListeners(ReferenceListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    // Sequence with a pooled optimizer (one round trip per 50 ids) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -26,6 +32,11 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type;
 
+    // Effect on this account's balance (tells the two legs of a transfer apart)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 6)
+    private Direction direction;
+
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
 
@@ -48,9 +59,6 @@ public class Transaction {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        if (transactionReference == null) {
-            transactionReference = "TXN" + System.currentTimeMillis();
-        }
     }
 
     public enum TransactionType {
@@ -58,4 +66,9 @@ public class Transaction {
         WITHDRAWAL, // Retrait
         TRANSFER    // Transfert
     }
+
+    public enum Direction {
+        CREDIT, // Entrée
+        DEBIT   // Sortie
+    }
 }
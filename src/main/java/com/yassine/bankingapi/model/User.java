@@ -1,14 +1,18 @@
 package com.yassine.bankingapi.model;
 
+import com.yassine.bankingapi.security.PrincipalCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +35,16 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    // Embedded in issued JWTs; bumping it revokes every token issued before
+    @Column(name = "token_version", nullable = false)
+    private Long tokenVersion = 0L;
+
+    // Role as last read from or written to the database, to detect role changes
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Role persistedRole;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -39,6 +53,21 @@ public class User {
         createdAt = LocalDateTime.now();
     }
 
+    @PreUpdate
+    protected void onUpdate() {
+        // Tokens carry the role claim: a role change revokes every token issued before it
+        if (persistedRole != null && persistedRole != role) {
+            tokenVersion = tokenVersion + 1;
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void rememberRole() {
+        persistedRole = role;
+    }
+
     public enum Role {
         USER,
         ADMIN
@@ -0,0 +1,23 @@
+package com.yassine.bankingapi.repository;
+
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Atomic balance updates that return the updated account in the same round trip.
+ * Each is a single conditional UPDATE (no read-modify-write) that bumps the version, so
+ * optimistic readers of the same row stay honest. Empty when no row matched. The
+ * account must not already be loaded in the current persistence context.
+ */
+public interface AccountBalanceRepository {
+
+    // Credit: only applies to accounts in the given status
+    Optional<Account> creditBalance(String accountNumber, BigDecimal amount, AccountStatus status, LocalDateTime now);
+
+    // Debit: only applies when the balance covers the amount
+    Optional<Account> debitBalance(String accountNumber, BigDecimal amount, AccountStatus status, LocalDateTime now);
+}
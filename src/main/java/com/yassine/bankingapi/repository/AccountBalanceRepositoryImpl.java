@@ -0,0 +1,94 @@
+package com.yassine.bankingapi.repository;
+
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Native implementation of AccountBalanceRepository.
+ * PostgreSQL returns the updated row with UPDATE ... RETURNING, H2 with
+ * SELECT ... FROM FINAL TABLE (UPDATE ...); the row is mapped straight onto a managed
+ * Account. Other databases fall back to the UPDATE followed by a SELECT.
+ */
+public class AccountBalanceRepositoryImpl implements AccountBalanceRepository {
+
+    private static final String CREDIT = "UPDATE accounts SET balance = balance + :amount, version = version + 1, " +
+            "updated_at = :now WHERE account_number = :accountNumber AND status = :status";
+    private static final String DEBIT = "UPDATE accounts SET balance = balance - :amount, version = version + 1, " +
+            "updated_at = :now WHERE account_number = :accountNumber AND status = :status AND balance >= :amount";
+
+    private enum Syntax { RETURNING, FINAL_TABLE, NONE }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Syntax syntax;
+
+    @Override
+    public Optional<Account> creditBalance(String accountNumber, BigDecimal amount, AccountStatus status, LocalDateTime now) {
+        return update(CREDIT, accountNumber, amount, status, now);
+    }
+
+    @Override
+    public Optional<Account> debitBalance(String accountNumber, BigDecimal amount, AccountStatus status, LocalDateTime now) {
+        return update(DEBIT, accountNumber, amount, status, now);
+    }
+
+    private Optional<Account> update(String update, String accountNumber, BigDecimal amount,
+                                     AccountStatus status, LocalDateTime now) {
+        Syntax current = syntax();
+        if (current == Syntax.NONE) {
+            int updated = bind(entityManager.createNativeQuery(update), accountNumber, amount, status, now).executeUpdate();
+            if (updated == 0) {
+                return Optional.empty();
+            }
+            return entityManager.createQuery("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber", Account.class)
+                    .setParameter("accountNumber", accountNumber)
+                    .getResultStream()
+                    .findFirst();
+        }
+        String sql = current == Syntax.RETURNING
+                ? update + " RETURNING *"
+                : "SELECT * FROM FINAL TABLE (" + update + ")";
+        return bind(entityManager.createNativeQuery(sql, Account.class), accountNumber, amount, status, now)
+                .getResultStream()
+                .findFirst()
+                .map(Account.class::cast);
+    }
+
+    private static Query bind(Query query, String accountNumber, BigDecimal amount, AccountStatus status, LocalDateTime now) {
+        return query.setParameter("accountNumber", accountNumber)
+                .setParameter("amount", amount)
+                .setParameter("status", status.name())
+                .setParameter("now", now);
+    }
+
+    private Syntax syntax() {
+        Syntax current = syntax;
+        if (current == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            if (dialect instanceof PostgreSQLDialect) {
+                current = Syntax.RETURNING;
+            } else if (dialect instanceof H2Dialect) {
+                current = Syntax.FINAL_TABLE;
+            } else {
+                current = Syntax.NONE;
+            }
+            syntax = current;
+        }
+        return current;
+    }
+}
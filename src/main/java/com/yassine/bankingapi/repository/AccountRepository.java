@@ -1,15 +1,76 @@
 package com.yassine.bankingapi.repository;
 
+import com.yassine.bankingapi.dto.AccountResponse;
 import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountBalanceRepository {
+
+    // Projection straight into the response DTO: one SQL statement, no lazy customer loads
+    String RESPONSE_SELECT = "SELECT new com.yassine.bankingapi.dto.AccountResponse(a.id, a.accountNumber, " +
+            "a.accountType, a.balance, a.status, c.id, c.firstName, c.lastName, a.createdAt) " +
+            "FROM Account a JOIN a.customer c ";
+
     Optional<Account> findByAccountNumber(String accountNumber);
     List<Account> findByCustomerId(Long customerId);
     boolean existsByAccountNumber(String accountNumber);
+
+    // Keyset pagination by primary key, with optional status/type filters
+    @Query(RESPONSE_SELECT + "WHERE a.id > :afterId " +
+           "AND (:status IS NULL OR a.status = :status) " +
+           "AND (:accountType IS NULL OR a.accountType = :accountType) " +
+           "ORDER BY a.id")
+    List<AccountResponse> findResponsesAfter(
+            @Param("afterId") Long afterId,
+            @Param("status") AccountStatus status,
+            @Param("accountType") AccountType accountType,
+            Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE a.accountNumber = :accountNumber")
+    Optional<AccountResponse> findResponseByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query(RESPONSE_SELECT + "WHERE c.id = :customerId ORDER BY a.id")
+    List<AccountResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Row lock (SELECT ... FOR UPDATE) with a bounded wait; callers must lock in a stable order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    // Batch variant: locks every row of the set, in account-number order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT a FROM Account a WHERE a.accountNumber IN :accountNumbers ORDER BY a.accountNumber")
+    List<Account> findAllByAccountNumberInForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    // Reserve the next outbox positions of an account; the row lock is held until commit,
+    // so positions follow commit order
+    @Modifying
+    @Query("UPDATE Account a SET a.eventSequence = a.eventSequence + :count WHERE a.accountNumber = :accountNumber")
+    int advanceEventSequence(@Param("accountNumber") String accountNumber, @Param("count") long count);
+
+    @Query("SELECT a.eventSequence FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findEventSequence(@Param("accountNumber") String accountNumber);
 }
@@ -0,0 +1,29 @@
+package com.yassine.bankingapi.repository;
+
+import com.yassine.bankingapi.model.DailyBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DailyBalanceSnapshotRepository extends JpaRepository<DailyBalanceSnapshot, Long> {
+
+    // Nearest snapshot strictly before a day (served by the account_id, snapshot_date unique index)
+    Optional<DailyBalanceSnapshot> findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(Long accountId, LocalDate day);
+
+    // Move a day's row to a newer balance (served by the account_id, snapshot_date unique index)
+    @Modifying
+    @Query("UPDATE DailyBalanceSnapshot s SET s.closingBalance = :closingBalance, s.lastTransactionId = :lastTransactionId " +
+           "WHERE s.accountId = :accountId AND s.snapshotDate = :day")
+    int updateClosingBalance(
+            @Param("accountId") Long accountId,
+            @Param("day") LocalDate day,
+            @Param("closingBalance") BigDecimal closingBalance,
+            @Param("lastTransactionId") Long lastTransactionId);
+}
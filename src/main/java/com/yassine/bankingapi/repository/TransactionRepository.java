@@ -1,40 +1,95 @@
 package com.yassine.bankingapi.repository;
 
+import com.yassine.bankingapi.dto.StatementAggregate;
+import com.yassine.bankingapi.dto.TransactionResponse;
 import com.yassine.bankingapi.model.Transaction;
 import com.yassine.bankingapi.model.Transaction.TransactionType;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByAccountIdOrderByCreatedAtDesc(Long accountId);
-    List<Transaction> findByAccountAccountNumberOrderByCreatedAtDesc(String accountNumber);
+
+    // Projection straight into the response DTO: one SQL statement, no lazy account loads
+    String RESPONSE_SELECT = "SELECT new com.yassine.bankingapi.dto.TransactionResponse(t.id, t.transactionReference, " +
+            "t.type, t.amount, t.balanceAfter, t.description, a.accountNumber, t.destinationAccountNumber, t.createdAt) " +
+            "FROM Transaction t JOIN t.account a ";
+
+    // Keyset pagination, newest first (served by idx_transactions_account_created_id)
+    @Query(RESPONSE_SELECT + "WHERE a.id = :accountId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionResponse> findLatestByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    // Strictly older than the (createdAt, id) cursor: an index range scan however deep the page
+    @Query(RESPONSE_SELECT + "WHERE a.id = :accountId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionResponse> findByAccountIdBefore(
+            @Param("accountId") Long accountId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
     
-    // Paginated transactions for an account
-    Page<Transaction> findByAccountAccountNumberOrderByCreatedAtDesc(String accountNumber, Pageable pageable);
+    // Balance after the latest transaction of an account in [from, to] (balance as of "to")
+    @Query("SELECT t.balanceAfter FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND t.createdAt >= :from AND t.createdAt <= :to ORDER BY t.createdAt DESC, t.id DESC")
+    List<BigDecimal> findBalancesAfterBetween(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    // Monthly totals of an account per type and direction, aggregated in the database
+    // (one range scan of idx_transactions_account_created_id, one row per month, type and direction)
+    @Query("SELECT new com.yassine.bankingapi.dto.StatementAggregate(year(t.createdAt), month(t.createdAt), " +
+           "t.type, t.direction, COUNT(t), SUM(t.amount), MIN(t.balanceAfter), MAX(t.balanceAfter)) " +
+           "FROM Transaction t WHERE t.account.id = :accountId AND t.createdAt >= :start AND t.createdAt < :end " +
+           "GROUP BY year(t.createdAt), month(t.createdAt), t.type, t.direction")
+    List<StatementAggregate> findStatementAggregates(
+            @Param("accountId") Long accountId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Full history, oldest first, streamed from a server-side cursor (consume inside a transaction)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId ORDER BY t.createdAt, t.id")
+    Stream<Transaction> streamByAccountId(@Param("accountId") Long accountId);
     
-    // Filter by date range
-    @Query("SELECT t FROM Transaction t WHERE t.account.accountNumber = :accountNumber AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
-    List<Transaction> findByAccountNumberAndDateRange(
+    // Response projections for the history endpoints
+    @Query(RESPONSE_SELECT + "WHERE a.accountNumber = :accountNumber ORDER BY t.createdAt DESC")
+    List<TransactionResponse> findResponsesByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query(RESPONSE_SELECT + "WHERE a.accountNumber = :accountNumber AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
+    List<TransactionResponse> findResponsesByAccountNumberAndDateRange(
             @Param("accountNumber") String accountNumber,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
-    
-    // Filter by type
-    List<Transaction> findByAccountAccountNumberAndTypeOrderByCreatedAtDesc(String accountNumber, TransactionType type);
-    
-    // Filter by date range and type
-    @Query("SELECT t FROM Transaction t WHERE t.account.accountNumber = :accountNumber AND t.type = :type AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
-    List<Transaction> findByAccountNumberAndTypeAndDateRange(
+
+    @Query(RESPONSE_SELECT + "WHERE a.accountNumber = :accountNumber AND t.type = :type ORDER BY t.createdAt DESC")
+    List<TransactionResponse> findResponsesByAccountNumberAndType(
+            @Param("accountNumber") String accountNumber,
+            @Param("type") TransactionType type);
+
+    @Query(RESPONSE_SELECT + "WHERE a.accountNumber = :accountNumber AND t.type = :type AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
+    List<TransactionResponse> findResponsesByAccountNumberAndTypeAndDateRange(
             @Param("accountNumber") String accountNumber,
             @Param("type") TransactionType type,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    @Query(RESPONSE_SELECT + "WHERE t.id = :id")
+    Optional<TransactionResponse> findResponseById(@Param("id") Long id);
 }
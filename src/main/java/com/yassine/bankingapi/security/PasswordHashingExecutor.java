@@ -0,0 +1,77 @@
+package com.yassine.bankingapi.security;
+
+import com.yassine.bankingapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for the BCrypt work of login and register.
+ * Credential storms queue here (up to the queue capacity) instead of occupying
+ * Tomcat workers, and are rejected with a 429 as soon as the queue is full. Only the
+ * hashing itself runs here: futures complete on the application task executor, so the
+ * caller's follow-up work (database, token) never holds a hashing thread.
+ * Metrics: executor{name=passwordHashing} (hash latency), executor.idle (time queued),
+ * executor.queued (queue depth), executor.active, executor.completed.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    static final String EXECUTOR_NAME = "passwordHashing";
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Executor continuationExecutor;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor continuationExecutor,
+                                   @Value("${banking.security.hashing.threads:0}") int threads,
+                                   @Value("${banking.security.hashing.queue-capacity:200}") int queueCapacity) {
+        // 0 = one thread per core: hashing is CPU-bound
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, EXECUTOR_NAME);
+        this.continuationExecutor = continuationExecutor;
+    }
+
+    /**
+     * Run a hashing task (encode or matches only) on the pool, or fail fast when the pool
+     * is saturated. Stages chained on the result run off the pool.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor)
+                    .thenApplyAsync(Function.identity(), continuationExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many authentication requests, please retry later");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,63 @@
+package com.yassine.bankingapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-limited cache of the principals resolved by JwtAuthenticationFilter,
+ * keyed by username. Entries hold no password hash; login still goes through
+ * CustomUserDetailsService directly.
+ */
+@Component
+public class PrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(CustomUserDetailsService userDetailsService,
+                          @Value("${banking.cache.principals.max-size:10000}") long maxSize,
+                          @Value("${banking.cache.principals.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Get the principal of a user, loading it from the user store on a miss
+     */
+    public UserDetails get(String username) {
+        return cache.get(username, key -> {
+            UserDetails loaded = userDetailsService.loadUserByUsername(key);
+            return User.withUsername(loaded.getUsername())
+                    .password("")
+                    .authorities(loaded.getAuthorities())
+                    .build();
+        });
+    }
+
+    /**
+     * Evict a user once the current transaction commits (immediately when there is none)
+     */
+    public void evictAfterCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(username);
+            }
+        });
+    }
+}
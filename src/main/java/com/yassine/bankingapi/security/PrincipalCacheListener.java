@@ -0,0 +1,27 @@
+package com.yassine.bankingapi.security;
+
+import com.yassine.bankingapi.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that drops a user's cached principal when the user
+ * (e.g. its role) is updated or deleted. Instantiated by Hibernate through
+ * Spring's bean container, so the cache is injected.
+ */
+public class PrincipalCacheListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public PrincipalCacheListener(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evictPrincipal(User user) {
+        // Not available in slices without the security layer (e.g. @DataJpaTest)
+        principalCache.ifAvailable(cache -> cache.evictAfterCommit(user.getUsername()));
+    }
+}
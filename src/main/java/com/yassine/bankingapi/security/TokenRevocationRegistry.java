@@ -0,0 +1,74 @@
+package com.yassine.bankingapi.security;
+
+import com.yassine.bankingapi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the users whose tokens were revoked: username -> minimum
+ * accepted token version. Only revoked users have an entry, so the map stays
+ * small and the check on the request path never touches the database.
+ * A revocation applies on this node as soon as it commits; every node also reloads
+ * users.token_version every jwt.revocation.refresh-ms, so revocations made on other
+ * nodes take effect within that delay.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final UserRepository userRepository;
+    private final Map<String, Long> minimumVersions = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Load the revoked versions at startup, then refresh them periodically (versions only grow)
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:5000}", initialDelayString = "${jwt.revocation.refresh-ms:5000}")
+    public void refresh() {
+        List<Object[]> revoked = userRepository.findRevokedTokenVersions();
+        for (Object[] row : revoked) {
+            minimumVersions.merge((String) row[0], (Long) row[1], Math::max);
+        }
+    }
+
+    /**
+     * Check whether a token issued with the given version is still accepted
+     */
+    public boolean isCurrent(String username, long tokenVersion) {
+        return tokenVersion >= minimumVersions.getOrDefault(username, 0L);
+    }
+
+    /**
+     * Reject every token of the user issued before the given version, once the current
+     * transaction commits (immediately when there is none)
+     */
+    public void revokeBefore(String username, long tokenVersion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            minimumVersions.merge(username, tokenVersion, Math::max);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                minimumVersions.merge(username, tokenVersion, Math::max);
+            }
+        });
+    }
+
+    /**
+     * Forget a user (e.g. once deleted)
+     */
+    public void remove(String username) {
+        minimumVersions.remove(username);
+    }
+}
@@ -0,0 +1,115 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Optional single-writer lanes for account mutations.
+ * Each account number hashes onto one of a fixed set of single-threaded lanes, so
+ * all mutations of an account run one after the other on that lane: a hot account
+ * queues in memory instead of piling up on its row lock, while accounts on other
+ * lanes proceed in parallel. A transfer between two lanes holds the lower-numbered
+ * lane and runs on the higher one; lanes are only ever waited on in ascending
+ * order, so two crossed transfers cannot deadlock. Lanes serialize the writers of
+ * this node only: the database locking in TransactionService stays in place for
+ * other nodes and is simply no longer contended here.
+ */
+@Service
+public class AccountLaneExecutor {
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor[] lanes;
+
+    public AccountLaneExecutor(MeterRegistry meterRegistry,
+                               @Value("${banking.lanes.enabled:false}") boolean enabled,
+                               @Value("${banking.lanes.count:0}") int count,
+                               @Value("${banking.lanes.queue-capacity:1000}") int queueCapacity) {
+        this.enabled = enabled;
+        // 0 = two lanes per core: lanes spend most of their time waiting on the database
+        int laneCount = enabled ? (count > 0 ? count : 2 * Runtime.getRuntime().availableProcessors()) : 0;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "account-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        Gauge.builder("banking.lanes.queued", this, AccountLaneExecutor::queued)
+                .description("Account mutations waiting on their lane")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Run a mutation of one account on its lane (on the caller's thread when lanes are disabled)
+     */
+    public <T> CompletableFuture<T> submit(String accountNumber, Supplier<T> task) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        return submitTo(lane(accountNumber), task);
+    }
+
+    /**
+     * Run a mutation of two accounts (a transfer) once it holds both lanes
+     */
+    public <T> CompletableFuture<T> submit(String firstAccountNumber, String secondAccountNumber, Supplier<T> task) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        int first = lane(firstAccountNumber);
+        int second = lane(secondAccountNumber);
+        if (first == second) {
+            return submitTo(first, task);
+        }
+        int higher = Math.max(first, second);
+        // Hold the lower lane while the task runs on the higher one
+        return submitTo(Math.min(first, second), () -> submitTo(higher, task).join());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    int lane(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), lanes.length);
+    }
+
+    private <T> CompletableFuture<T> submitTo(int lane, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, lanes[lane]);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Account is busy, please retry later");
+        }
+    }
+
+    private int queued() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+}
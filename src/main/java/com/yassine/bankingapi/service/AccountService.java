@@ -1,28 +1,55 @@
 package com.yassine.bankingapi.service;
 
 import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.dto.AccountResponse;
+import com.yassine.bankingapi.dto.CursorPageResponse;
 import com.yassine.bankingapi.exception.BadRequestException;
 import com.yassine.bankingapi.exception.ResourceNotFoundException;
 import com.yassine.bankingapi.model.Account;
 import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
 import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.model.DailyBalanceSnapshot;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.model.Transaction.Direction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
 import com.yassine.bankingapi.repository.AccountRepository;
 import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.repository.DailyBalanceSnapshotRepository;
+import com.yassine.bankingapi.repository.TransactionRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class AccountService {
 
+    private static final int MAX_PAGE_LIMIT = 100;
+
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
-
-    public AccountService(AccountRepository accountRepository, CustomerRepository customerRepository) {
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final TransactionRepository transactionRepository;
+    private final DailyBalanceSnapshotRepository snapshotRepository;
+    private final TransactionOutbox transactionOutbox;
+    private final BalanceSnapshotService balanceSnapshotService;
+
+    public AccountService(AccountRepository accountRepository, CustomerRepository customerRepository,
+                          AccountSnapshotCache accountSnapshotCache, TransactionRepository transactionRepository,
+                          DailyBalanceSnapshotRepository snapshotRepository, TransactionOutbox transactionOutbox,
+                          BalanceSnapshotService balanceSnapshotService) {
         this.accountRepository = accountRepository;
         this.customerRepository = customerRepository;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.transactionRepository = transactionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionOutbox = transactionOutbox;
+        this.balanceSnapshotService = balanceSnapshotService;
     }
 
     /**
@@ -41,14 +68,24 @@ public class AccountService {
         account.setStatus(AccountStatus.ACTIVE);
 
         // 3. Set initial deposit if provided
-        if (dto.getInitialDeposit() != null && dto.getInitialDeposit().compareTo(BigDecimal.ZERO) > 0) {
-            account.setBalance(dto.getInitialDeposit());
-        } else {
-            account.setBalance(BigDecimal.ZERO);
+        boolean initialDeposit = dto.getInitialDeposit() != null && dto.getInitialDeposit().compareTo(BigDecimal.ZERO) > 0;
+        account.setBalance(initialDeposit ? dto.getInitialDeposit() : BigDecimal.ZERO);
+
+        // 4. Save, recording the initial deposit as the account's first transaction
+        account = accountRepository.save(account);
+        if (initialDeposit) {
+            Transaction transaction = new Transaction();
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setDirection(Direction.CREDIT);
+            transaction.setAmount(dto.getInitialDeposit());
+            transaction.setBalanceAfter(dto.getInitialDeposit());
+            transaction.setDescription("Initial deposit");
+            transaction.setAccount(account);
+            List<Transaction> saved = List.of(transactionRepository.save(transaction));
+            transactionOutbox.record(saved);
+            balanceSnapshotService.record(saved);
         }
-
-        // 4. Save and return
-        return accountRepository.save(account);
+        return account;
     }
 
     /**
@@ -67,30 +104,81 @@ public class AccountService {
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
     }
 
+    /**
+     * Get the (cached) snapshot of an account
+     */
+    public AccountResponse getAccountSnapshot(String accountNumber) {
+        return accountSnapshotCache.get(accountNumber);
+    }
+
     /**
      * Get balance of an account
      */
     public BigDecimal getBalance(String accountNumber) {
+        return accountSnapshotCache.get(accountNumber).getBalance();
+    }
+
+    /**
+     * Get the balance of an account as of a point in time: the closing balance of the nearest
+     * daily snapshot before that day, replaced by the balance after the latest transaction
+     * between that snapshot and the requested time if there is one
+     */
+    public BigDecimal getBalanceAt(String accountNumber, LocalDateTime at) {
         Account account = getAccountByNumber(accountNumber);
-        return account.getBalance();
+        if (at.isBefore(account.getCreatedAt())) {
+            throw new BadRequestException("Account " + accountNumber + " did not exist at " + at);
+        }
+
+        // 1. Nearest end-of-day snapshot strictly before the requested day
+        Optional<DailyBalanceSnapshot> snapshot = snapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(account.getId(), at.toLocalDate());
+        LocalDateTime from = snapshot
+                .map(s -> s.getSnapshotDate().plusDays(1).atStartOfDay())
+                .orElse(account.getCreatedAt());
+
+        // 2. Only the transactions after that snapshot can have changed the balance
+        List<BigDecimal> latest = transactionRepository.findBalancesAfterBetween(
+                account.getId(), from, at, PageRequest.of(0, 1));
+        if (!latest.isEmpty()) {
+            return latest.get(0);
+        }
+        return snapshot.map(DailyBalanceSnapshot::getClosingBalance).orElse(BigDecimal.ZERO);
     }
 
     /**
      * Get all accounts for a customer
      */
-    public List<Account> getCustomerAccounts(Long customerId) {
+    public List<AccountResponse> getCustomerAccounts(Long customerId) {
         // Verify customer exists
         if (!customerRepository.existsById(customerId)) {
             throw new ResourceNotFoundException("Customer not found with id: " + customerId);
         }
-        return accountRepository.findByCustomerId(customerId);
+        return accountRepository.findResponsesByCustomerId(customerId);
     }
 
     /**
-     * Get all accounts
+     * Get one page of accounts (ordered by id) using keyset pagination.
+     * The cursor carries the id of the last account of the previous page.
      */
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    public CursorPageResponse<AccountResponse> getAccounts(String cursor, int limit, AccountStatus status, AccountType accountType) {
+        KeysetCursor.validateLimit(limit, MAX_PAGE_LIMIT);
+        long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(KeysetCursor.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // Fetch one extra row to know whether another page follows
+        List<AccountResponse> accounts = accountRepository.findResponsesAfter(
+                afterId, status, accountType, PageRequest.of(0, limit + 1));
+
+        boolean hasNext = accounts.size() > limit;
+        List<AccountResponse> page = hasNext ? accounts.subList(0, limit) : accounts;
+        String nextCursor = hasNext ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
+        return new CursorPageResponse<>(page, limit, hasNext, nextCursor);
     }
 
     /**
@@ -103,6 +191,7 @@ public class AccountService {
             throw new BadRequestException("Cannot suspend a closed account");
         }
         account.setStatus(AccountStatus.SUSPENDED);
+        accountSnapshotCache.evictAfterCommit(accountNumber);
         return accountRepository.save(account);
     }
 
@@ -116,6 +205,7 @@ public class AccountService {
             throw new BadRequestException("Cannot activate a closed account");
         }
         account.setStatus(AccountStatus.ACTIVE);
+        accountSnapshotCache.evictAfterCommit(accountNumber);
         return accountRepository.save(account);
     }
 
@@ -129,6 +219,7 @@ public class AccountService {
             throw new BadRequestException("Cannot close account with non-zero balance. Current balance: " + account.getBalance());
         }
         account.setStatus(AccountStatus.CLOSED);
+        accountSnapshotCache.evictAfterCommit(accountNumber);
         return accountRepository.save(account);
     }
 }
@@ -0,0 +1,82 @@
+package com.yassine.bankingapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yassine.bankingapi.dto.AccountResponse;
+import com.yassine.bankingapi.exception.ResourceNotFoundException;
+import com.yassine.bankingapi.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-through cache of account snapshots keyed by account number.
+ * Writers evict the touched accounts once their transaction has committed, and a
+ * load racing with an eviction completes before the eviction removes it, so a read
+ * never returns a balance older than the last write committed on this node.
+ */
+@Component
+public class AccountSnapshotCache {
+
+    static final String CACHE_NAME = "accountSnapshots";
+
+    private final AccountRepository accountRepository;
+    private final Cache<String, AccountResponse> cache;
+
+    public AccountSnapshotCache(AccountRepository accountRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${banking.cache.accounts.max-size:10000}") long maxSize,
+                                @Value("${banking.cache.accounts.ttl-seconds:300}") long ttlSeconds) {
+        this.accountRepository = accountRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the snapshot of an account, loading it from the database on a miss
+     */
+    public AccountResponse get(String accountNumber) {
+        AccountResponse snapshot = cache.get(accountNumber,
+                key -> accountRepository.findResponseByAccountNumber(key).orElse(null));
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("Account not found: " + accountNumber);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Evict accounts once the current transaction commits (immediately when there is none)
+     */
+    public void evictAfterCommit(String... accountNumbers) {
+        evictAfterCommit(List.of(accountNumbers));
+    }
+
+    /**
+     * Evict accounts once the current transaction commits (immediately when there is none)
+     */
+    public void evictAfterCommit(Collection<String> accountNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(accountNumbers);
+            return;
+        }
+        List<String> keys = List.copyOf(accountNumbers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(keys);
+            }
+        });
+    }
+}
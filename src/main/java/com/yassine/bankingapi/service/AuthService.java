@@ -4,15 +4,19 @@ import com.yassine.bankingapi.dto.AuthResponse;
 import com.yassine.bankingapi.dto.LoginRequest;
 import com.yassine.bankingapi.dto.RegisterRequest;
 import com.yassine.bankingapi.exception.BadRequestException;
+import com.yassine.bankingapi.exception.ResourceNotFoundException;
 import com.yassine.bankingapi.model.User;
 import com.yassine.bankingapi.repository.UserRepository;
 import com.yassine.bankingapi.security.JwtUtils;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.yassine.bankingapi.security.PasswordHashingExecutor;
+import com.yassine.bankingapi.security.TokenRevocationRegistry;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
@@ -20,20 +24,26 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
-    private final AuthenticationManager authenticationManager;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    // Checked for unknown usernames, so a login costs one BCrypt whether the user exists or not
+    private final String userNotFoundHash;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
-                       JwtUtils jwtUtils, AuthenticationManager authenticationManager) {
+                       JwtUtils jwtUtils, TokenRevocationRegistry revocationRegistry,
+                       PasswordHashingExecutor passwordHashingExecutor) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
-        this.authenticationManager = authenticationManager;
+        this.revocationRegistry = revocationRegistry;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.userNotFoundHash = passwordEncoder.encode("userNotFoundPassword");
     }
 
     /**
-     * Register a new user
+     * Register a new user (the password is hashed on the bounded hashing pool)
      */
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         // Check if username already exists
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new BadRequestException("Username already exists: " + request.getUsername());
@@ -44,39 +54,78 @@ public class AuthService {
             throw new BadRequestException("Email already exists: " + request.getEmail());
         }
 
-        // Create new user
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setRole(User.Role.USER);
+        // Hash the password on the hashing pool, then create the user off it
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .thenApply(hash -> {
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setEmail(request.getEmail());
+                    user.setPassword(hash);
+                    user.setRole(User.Role.USER);
 
-        User savedUser = userRepository.save(user);
+                    User savedUser = userRepository.save(user);
 
-        // Generate JWT token
-        String token = jwtUtils.generateToken(savedUser.getUsername());
+                    // Generate JWT token
+                    String token = generateToken(savedUser);
 
-        return new AuthResponse(token, savedUser.getUsername(), savedUser.getEmail(), savedUser.getRole().name());
+                    return new AuthResponse(token, savedUser.getUsername(), savedUser.getEmail(), savedUser.getRole().name());
+                });
     }
 
     /**
-     * Login user
+     * Login user (only the password check runs on the bounded hashing pool)
      */
-    public AuthResponse login(LoginRequest request) {
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        // 1. Get the user from the database on the caller
+        Optional<User> user = userRepository.findByUsername(request.getUsername());
+        String hash = user.map(User::getPassword).orElse(userNotFoundHash);
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // 2. Check the password on the hashing pool
+        return passwordHashingExecutor.submit(() -> passwordEncoder.matches(request.getPassword(), hash))
+                .thenApply(matches -> {
+                    // 3. Generate the JWT token off the pool
+                    if (!matches || user.isEmpty()) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+                    String token = generateToken(user.get());
+                    return new AuthResponse(token, user.get().getUsername(), user.get().getEmail(), user.get().getRole().name());
+                });
+    }
 
-        // Get user from database
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new BadRequestException("User not found"));
+    /**
+     * Revoke every token issued so far to a user (forced logout)
+     */
+    @Transactional
+    public void revokeTokens(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+
+        long newVersion = user.getTokenVersion() + 1;
+        user.setTokenVersion(newVersion);
+        userRepository.save(user);
+
+        revocationRegistry.revokeBefore(username, newVersion);
+    }
 
-        // Generate JWT token
-        String token = jwtUtils.generateToken(user.getUsername());
+    /**
+     * Change a user's role; tokens issued with the old role claim are revoked
+     */
+    @Transactional
+    public void changeRole(String username, User.Role role) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        if (user.getRole() == role) {
+            return;
+        }
+
+        // The entity bumps its token version when the role changes (see User#onUpdate)
+        user.setRole(role);
+        userRepository.saveAndFlush(user);
+
+        revocationRegistry.revokeBefore(username, user.getTokenVersion());
+    }
 
-        return new AuthResponse(token, user.getUsername(), user.getEmail(), user.getRole().name());
+    private String generateToken(User user) {
+        return jwtUtils.generateToken(user.getUsername(), user.getRole().name(), user.getTokenVersion());
     }
 }
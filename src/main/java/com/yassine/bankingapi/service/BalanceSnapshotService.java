@@ -0,0 +1,65 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.model.DailyBalanceSnapshot;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.repository.DailyBalanceSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the daily_balance_snapshots table incrementally.
+ * Every balance change upserts, in the same database transaction, the row of the
+ * account for the transaction's day with the balance after it. A day's row therefore
+ * always holds its closing balance once the day is over, and an as-of balance query
+ * never has to look further back than one snapshot.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    private final DailyBalanceSnapshotRepository snapshotRepository;
+    private final EntityManager entityManager;
+
+    public BalanceSnapshotService(DailyBalanceSnapshotRepository snapshotRepository, EntityManager entityManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Record the balances left by saved transactions (given in the order they were applied)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<Transaction> transactions) {
+        // 1. Keep the latest transaction of each account, in account order
+        Map<Long, Transaction> latestByAccount = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getBalanceAfter() != null) {
+                latestByAccount.put(transaction.getAccount().getId(), transaction);
+            }
+        }
+        if (latestByAccount.isEmpty()) {
+            return;
+        }
+
+        // 2. Write pending balance changes first: their account row locks serialize the
+        //    writers of an account, so only one of them can create a day's row
+        entityManager.flush();
+
+        // 3. Update the day's row, or create it for the account's first change of the day
+        latestByAccount.forEach((accountId, transaction) -> {
+            LocalDate day = transaction.getCreatedAt().toLocalDate();
+            int updated = snapshotRepository.updateClosingBalance(
+                    accountId, day, transaction.getBalanceAfter(), transaction.getId());
+            if (updated == 0) {
+                snapshotRepository.save(new DailyBalanceSnapshot(
+                        accountId, day, transaction.getBalanceAfter(), transaction.getId()));
+            }
+        });
+    }
+}
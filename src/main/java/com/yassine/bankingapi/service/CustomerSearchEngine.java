@@ -0,0 +1,17 @@
+package com.yassine.bankingapi.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Index-backed customer search on first name, last name and email, with prefix and
+ * fuzzy (trigram) matching. The implementation is chosen by banking.search.engine:
+ * memory (in-process n-gram index, default) or postgres (pg_trgm GIN index).
+ */
+public interface CustomerSearchEngine {
+
+    /**
+     * One page of the ids of the customers matching the query, best match first
+     */
+    Page<Long> search(String query, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.model.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that keeps the in-memory customer search index current.
+ * Instantiated by Hibernate through Spring's bean container; a no-op when the
+ * postgres search engine is used (the database index maintains itself).
+ */
+public class CustomerSearchListener {
+
+    private final ObjectProvider<InMemoryCustomerSearchEngine> searchEngine;
+
+    public CustomerSearchListener(ObjectProvider<InMemoryCustomerSearchEngine> searchEngine) {
+        this.searchEngine = searchEngine;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void index(Customer customer) {
+        searchEngine.ifAvailable(engine -> engine.indexAfterCommit(customer));
+    }
+
+    @PostRemove
+    public void remove(Customer customer) {
+        searchEngine.ifAvailable(engine -> engine.removeAfterCommit(customer.getId()));
+    }
+}
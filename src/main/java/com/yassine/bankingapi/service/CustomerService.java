@@ -5,6 +5,7 @@ import com.yassine.bankingapi.dto.CustomerResponse;
 import com.yassine.bankingapi.dto.PageResponse;
 import com.yassine.bankingapi.exception.BadRequestException;
 import com.yassine.bankingapi.exception.ResourceNotFoundException;
+import com.yassine.bankingapi.model.Account;
 import com.yassine.bankingapi.model.Customer;
 import com.yassine.bankingapi.repository.CustomerRepository;
 import org.springframework.data.domain.Page;
@@ -15,16 +16,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CustomerService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final CustomerRepository customerRepository;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final CustomerSearchEngine customerSearchEngine;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, AccountSnapshotCache accountSnapshotCache,
+                           CustomerSearchEngine customerSearchEngine) {
         this.customerRepository = customerRepository;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.customerSearchEngine = customerSearchEngine;
     }
 
     /**
@@ -87,6 +98,8 @@ public class CustomerService {
         customer.setAddress(dto.getAddress());
 
         Customer updatedCustomer = customerRepository.save(customer);
+        // Les snapshots de comptes contiennent le nom du client
+        evictAccountSnapshots(updatedCustomer);
 
         return mapToResponse(updatedCustomer);
     }
@@ -98,9 +111,16 @@ public class CustomerService {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
 
+        evictAccountSnapshots(customer);
         customerRepository.delete(customer);
     }
 
+    private void evictAccountSnapshots(Customer customer) {
+        accountSnapshotCache.evictAfterCommit(customer.getAccounts().stream()
+                .map(Account::getAccountNumber)
+                .toList());
+    }
+
     /**
      * Récupérer tous les clients avec pagination
      */
@@ -119,26 +139,26 @@ public class CustomerService {
     }
 
     /**
-     * Rechercher des clients par mot-clé (nom ou email)
+     * Rechercher des clients par mot-clé (nom ou email, préfixe ou approché), les plus pertinents d'abord
      */
-    public List<CustomerResponse> searchCustomers(String keyword) {
-        return customerRepository.searchByKeyword(keyword).stream()
+    @Transactional(readOnly = true)
+    public PageResponse<CustomerResponse> searchCustomers(String keyword, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        // 1. Ids of the page, ranked by the search index
+        Page<Long> idPage = customerSearchEngine.search(keyword, PageRequest.of(page, size));
+
+        // 2. Load those customers in one query, keeping the ranking order
+        Map<Long, Customer> customers = customerRepository.findAllById(idPage.getContent()).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        List<CustomerResponse> responses = idPage.getContent().stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
-    }
 
-    /**
-     * Rechercher des clients par mot-clé avec pagination
-     */
-    public PageResponse<CustomerResponse> searchCustomersPaginated(String keyword, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("lastName").ascending());
-        Page<Customer> customerPage = customerRepository.searchByKeyword(keyword, pageable);
-        
-        List<CustomerResponse> responses = customerPage.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        
-        return PageResponse.from(customerPage, responses);
+        return PageResponse.from(idPage, responses);
     }
 
     /**
@@ -0,0 +1,188 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.BatchItemDTO;
+import com.yassine.bankingapi.dto.BatchItemResult;
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransactionResponse;
+import com.yassine.bankingapi.exception.BadRequestException;
+import com.yassine.bankingapi.exception.TooManyRequestsException;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind path for high-frequency deposits (group commit).
+ * Deposits are appended to a bounded in-memory buffer; a single flusher thread
+ * takes up to max-batch of them, or whatever arrived within flush-interval-ms of
+ * the first, and applies them in one database transaction through
+ * TransactionService.applyBatch, which loads each account once and writes it once
+ * however many deposits it received. A caller's future completes only after its
+ * group has committed, so the acknowledgement is durable; the commit cost is paid
+ * once per group instead of once per deposit.
+ */
+@Service
+public class DepositLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(DepositLedger.class);
+
+    private final TransactionService transactionService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long flushIntervalMs;
+    private final BlockingQueue<PendingDeposit> buffer;
+
+    private volatile boolean running;
+    private Thread flusher;
+    private Timer flushTimer;
+    private DistributionSummary groupSize;
+
+    public DepositLedger(TransactionService transactionService,
+                         MeterRegistry meterRegistry,
+                         @Value("${banking.ledger.group-commit.enabled:false}") boolean enabled,
+                         @Value("${banking.ledger.group-commit.max-batch:500}") int maxBatch,
+                         @Value("${banking.ledger.group-commit.flush-interval-ms:5}") long flushIntervalMs,
+                         @Value("${banking.ledger.group-commit.capacity:10000}") int capacity) {
+        this.transactionService = transactionService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.flushIntervalMs = flushIntervalMs;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flushTimer = meterRegistry.timer("banking.ledger.flush");
+        groupSize = DistributionSummary.builder("banking.ledger.group.size")
+                .description("Deposits committed per group")
+                .register(meterRegistry);
+        Gauge.builder("banking.ledger.buffer.size", buffer, BlockingQueue::size)
+                .description("Deposits waiting for their group commit")
+                .register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "deposit-ledger");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Append a deposit; the future completes once its group has committed
+     */
+    public CompletableFuture<TransactionResponse> submit(TransactionDTO dto) {
+        if (dto.getAmount() == null || dto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException("Amount must be greater than 0");
+        }
+        PendingDeposit deposit = new PendingDeposit(dto);
+        if (!running || !buffer.offer(deposit)) {
+            throw new TooManyRequestsException("Deposit ledger is full, please retry later");
+        }
+        return deposit.future;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            // The flusher drains what is already buffered before exiting
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingDeposit> group = new ArrayList<>(maxBatch);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingDeposit first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // 1. Collect until the group is full or the first deposit has waited flush-interval-ms
+                group.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (group.size() < maxBatch) {
+                    buffer.drainTo(group, maxBatch - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingDeposit next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+
+                // 2. Commit the group and acknowledge its deposits
+                flushTimer.record(() -> commit(group));
+                groupSize.record(group.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingDeposit> group) {
+        List<BatchItemDTO> items = new ArrayList<>(group.size());
+        for (PendingDeposit deposit : group) {
+            TransactionDTO dto = deposit.dto;
+            items.add(new BatchItemDTO(TransactionType.DEPOSIT, dto.getAccountNumber(), null, dto.getAmount(),
+                    dto.getDescription()));
+        }
+
+        List<BatchItemResult> results;
+        try {
+            results = transactionService.applyBatch(items, 0);
+        } catch (RuntimeException e) {
+            // Rolled back as a whole (e.g. still contended after all retries): nothing was applied
+            log.warn("Deposit group of {} rolled back: {}", group.size(), e.getMessage());
+            group.forEach(deposit -> deposit.future.completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            BatchItemResult result = results.get(i);
+            if (result.isSuccess()) {
+                group.get(i).future.complete(result.getTransactions().get(0));
+            } else {
+                group.get(i).future.completeExceptionally(new BadRequestException(result.getError()));
+            }
+        }
+    }
+
+    private static final class PendingDeposit {
+        private final TransactionDTO dto;
+        private final CompletableFuture<TransactionResponse> future = new CompletableFuture<>();
+
+        private PendingDeposit(TransactionDTO dto) {
+            this.dto = dto;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.yassine.bankingapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yassine.bankingapi.exception.BadRequestException;
+import com.yassine.bankingapi.exception.ConflictException;
+import com.yassine.bankingapi.model.IdempotencyRecord;
+import com.yassine.bankingapi.model.IdempotencyRecord.RecordId;
+import com.yassine.bankingapi.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Executes a money movement at most once per Idempotency-Key and caller.
+ * Completed keys are answered from a bounded in-memory front cache, then from the
+ * idempotency_keys table. Concurrent duplicates on this node wait for the running
+ * execution instead of starting their own; duplicates on other nodes block on the
+ * key's primary key until the first commits, then replay its stored response.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryTemplate retryTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<RecordId, IdempotencyRecord> completed;
+    private final Map<RecordId, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final long retentionHours;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              TransactionTemplate transactionTemplate,
+                              RetryTemplate concurrencyRetryTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${banking.idempotency.cache.max-size:10000}") long cacheMaxSize,
+                              @Value("${banking.idempotency.cache.ttl-seconds:600}") long cacheTtlSeconds,
+                              @Value("${banking.idempotency.retention-hours:24}") long retentionHours) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retryTemplate = concurrencyRetryTemplate;
+        this.objectMapper = objectMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Run the operation once for the given caller and key and return its response; replays
+     * return the stored response. Without a key the operation simply runs.
+     */
+    public <T> T execute(String principal, String idempotencyKey, String operation, Object request, int status,
+                         TypeReference<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        RecordId key = new RecordId(principal, idempotencyKey);
+        String requestHash = hash(operation, request);
+
+        // 1. Already completed: replay the stored response
+        IdempotencyRecord stored = findCompleted(key);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+
+        // 2. Running on this node: wait for that execution instead of starting another
+        InFlight mine = new InFlight(requestHash);
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash, requestHash);
+            return awaitResult(running);
+        }
+
+        // 3. Execute once, recording the key in the same transaction as the operation
+        try {
+            T result = executeAndRecord(key, operation, requestHash, status, responseType, action);
+            mine.future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Delete keys older than the retention period
+     */
+    @Scheduled(cron = "${banking.idempotency.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int deleted = recordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        log.debug("Purged {} expired idempotency keys", deleted);
+    }
+
+    private <T> T executeAndRecord(RecordId key, String operation, String requestHash, int status,
+                                   TypeReference<T> responseType, Supplier<T> action) {
+        try {
+            return retryTemplate.execute(context -> {
+                context.setAttribute(RetryContext.NAME, operation);
+                return transactionTemplate.execute(tx -> {
+                    // Claim the key first: a concurrent insert of the same key blocks here until
+                    // the first one commits, then fails, before any account is touched
+                    IdempotencyRecord record = recordRepository.saveAndFlush(
+                            new IdempotencyRecord(key, requestHash, status, ""));
+
+                    T result = action.get();
+
+                    // Stored with the operation at commit, cached once committed
+                    record.setResponseBody(toJson(result));
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            completed.put(key, record);
+                        }
+                    });
+                    return result;
+                });
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node committed this key first: our attempt rolled back, replay theirs
+            IdempotencyRecord stored = findCompleted(key);
+            if (stored == null) {
+                throw e;
+            }
+            return replay(stored, requestHash, responseType);
+        }
+    }
+
+    private IdempotencyRecord findCompleted(RecordId key) {
+        IdempotencyRecord stored = completed.getIfPresent(key);
+        if (stored == null) {
+            stored = recordRepository.findById(key).orElse(null);
+            if (stored != null) {
+                completed.put(key, stored);
+            }
+        }
+        return stored;
+    }
+
+    private <T> T replay(IdempotencyRecord stored, String requestHash, TypeReference<T> responseType) {
+        checkSameRequest(stored.getRequestHash(), requestHash);
+        try {
+            return objectMapper.readValue(stored.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response for Idempotency-Key " + stored.getKey(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T awaitResult(InFlight running) {
+        try {
+            return (T) running.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkSameRequest(String expectedHash, String requestHash) {
+        if (!expectedHash.equals(requestHash)) {
+            throw new ConflictException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash request", e);
+        }
+    }
+
+    private static final class InFlight {
+        private final String requestHash;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.TransactionEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded stand-in for a message broker: a topic split into bounded partitions,
+ * keyed by account number, so events of one account stay in order within their
+ * partition. Consumers poll a partition each. When a partition is full the batch is
+ * refused and stays pending in the outbox (back-pressure instead of data loss).
+ */
+@Service
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "broker")
+public class InMemoryBrokerOutboxSink implements OutboxSink {
+
+    private final List<BlockingQueue<TransactionEvent>> partitions;
+
+    public InMemoryBrokerOutboxSink(@Value("${banking.outbox.broker.partitions:8}") int partitions,
+                                    @Value("${banking.outbox.broker.partition-capacity:10000}") int partitionCapacity) {
+        this.partitions = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            this.partitions.add(new ArrayBlockingQueue<>(partitionCapacity));
+        }
+    }
+
+    /**
+     * Publish the whole batch, or nothing if a partition lacks room for its share
+     */
+    @Override
+    public synchronized void publish(List<TransactionEvent> events) {
+        int[] needed = new int[partitions.size()];
+        for (TransactionEvent event : events) {
+            needed[partitionOf(event.getAccountNumber())]++;
+        }
+        for (int i = 0; i < needed.length; i++) {
+            if (needed[i] > partitions.get(i).remainingCapacity()) {
+                throw new IllegalStateException("Outbox broker partition " + i + " is full");
+            }
+        }
+        for (TransactionEvent event : events) {
+            partitions.get(partitionOf(event.getAccountNumber())).add(event);
+        }
+    }
+
+    /**
+     * Take up to maxEvents events of a partition, waiting up to timeoutMs for the first one
+     */
+    public List<TransactionEvent> poll(int partition, int maxEvents, long timeoutMs) throws InterruptedException {
+        BlockingQueue<TransactionEvent> queue = partitions.get(partition);
+        List<TransactionEvent> events = new ArrayList<>();
+        TransactionEvent first = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (first != null) {
+            events.add(first);
+            queue.drainTo(events, maxEvents - 1);
+        }
+        return events;
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    public int partitionOf(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), partitions.size());
+    }
+}
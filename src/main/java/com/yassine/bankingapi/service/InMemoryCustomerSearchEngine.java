@@ -0,0 +1,242 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index of customer name and email tokens, keyed by trigram.
+ * Used where the database has no trigram index (H2). A query only scores the
+ * customers sharing a trigram with each of its terms, so its cost follows the number
+ * of plausible matches rather than the size of the customers table. The index is
+ * built at startup and kept current by CustomerSearchListener after each commit.
+ */
+@Service
+@ConditionalOnProperty(name = "banking.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCustomerSearchEngine implements CustomerSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryCustomerSearchEngine.class);
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // Minimum trigram similarity (shared / distinct trigrams) for a fuzzy match, as pg_trgm
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private final CustomerRepository customerRepository;
+    private final Map<Long, String[]> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    public InMemoryCustomerSearchEngine(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    /**
+     * Index every existing customer
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+        Page<Customer> page;
+        do {
+            page = customerRepository.findAll(pageable);
+            page.forEach(this::index);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+        log.info("Indexed {} customers for search", documents.size());
+    }
+
+    @Override
+    public Page<Long> search(String query, Pageable pageable) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return Page.empty(pageable);
+        }
+
+        // 1. Candidates: customers sharing at least one trigram with every term
+        Set<Long> candidates = null;
+        for (String term : terms) {
+            Set<Long> termCandidates = new HashSet<>();
+            // No end padding: "  ahm" finds "ahmed" by its leading trigrams (prefix match)
+            for (String gram : trigrams(term, false)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    termCandidates.addAll(ids);
+                }
+            }
+            if (candidates == null) {
+                candidates = termCandidates;
+            } else {
+                candidates.retainAll(termCandidates);
+            }
+        }
+
+        // 2. Score: every term must match one of the customer's tokens exactly, as a prefix or fuzzily
+        List<Hit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            String[] tokens = documents.get(id);
+            if (tokens == null) {
+                continue;
+            }
+            double score = 0;
+            for (String term : terms) {
+                double best = 0;
+                for (String token : tokens) {
+                    best = Math.max(best, score(term, token));
+                }
+                if (best == 0) {
+                    score = 0;
+                    break;
+                }
+                score += best;
+            }
+            if (score > 0) {
+                hits.add(new Hit(id, score));
+            }
+        }
+
+        // 3. Rank and page
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<Long> ids = hits.subList(from, to).stream().map(Hit::id).toList();
+        return new PageImpl<>(ids, pageable, hits.size());
+    }
+
+    /**
+     * (Re)index a customer once the current transaction commits
+     */
+    public void indexAfterCommit(Customer customer) {
+        Long id = customer.getId();
+        String text = text(customer);
+        afterCommit(() -> index(id, text));
+    }
+
+    /**
+     * Drop a customer from the index once the current transaction commits
+     */
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> {
+            String[] previous = documents.remove(id);
+            if (previous != null) {
+                unpost(id, previous);
+            }
+        });
+    }
+
+    void index(Customer customer) {
+        index(customer.getId(), text(customer));
+    }
+
+    void index(Long id, String text) {
+        String[] tokens = tokenize(text);
+        documents.compute(id, (key, previous) -> {
+            if (previous != null) {
+                unpost(id, previous);
+            }
+            for (String token : tokens) {
+                for (String gram : trigrams(token, true)) {
+                    postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            }
+            return tokens;
+        });
+    }
+
+    private void unpost(Long id, String[] tokens) {
+        for (String token : tokens) {
+            for (String gram : trigrams(token, true)) {
+                postings.computeIfPresent(gram, (g, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    private static double score(String term, String token) {
+        if (token.equals(term)) {
+            return 2.0;
+        }
+        if (token.startsWith(term)) {
+            // Between 1 and 2: the closer the prefix is to the whole token, the better
+            return 1.0 + (double) term.length() / token.length();
+        }
+        Set<String> termGrams = trigrams(term, true);
+        Set<String> tokenGrams = trigrams(token, true);
+        int shared = 0;
+        for (String gram : termGrams) {
+            if (tokenGrams.contains(gram)) {
+                shared++;
+            }
+        }
+        double similarity = (double) shared / (termGrams.size() + tokenGrams.size() - shared);
+        return similarity >= MIN_SIMILARITY ? similarity : 0;
+    }
+
+    // Padded like pg_trgm: two leading spaces, one trailing (omitted for prefix lookups)
+    private static Set<String> trigrams(String word, boolean padEnd) {
+        String padded = "  " + word + (padEnd ? " " : "");
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Lower-cased, accent-free alphanumeric tokens ("Benaïssa, a.ben@x.tn" -> benaissa, a, ben, x, tn)
+    private static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+        return Arrays.stream(NON_ALPHANUMERIC.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static String text(Customer customer) {
+        return customer.getFirstName() + " " + customer.getLastName() + " " + customer.getEmail();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Hit(Long id, double score) {
+    }
+}
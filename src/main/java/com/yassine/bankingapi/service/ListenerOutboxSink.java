@@ -0,0 +1,29 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.TransactionEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Publishes each event as a Spring application event: in-process consumers declare
+ * an @EventListener method taking a TransactionEvent. Listeners run on the relay
+ * thread, and one that throws makes the batch be redelivered.
+ */
+@Service
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "listener", matchIfMissing = true)
+public class ListenerOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ListenerOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<TransactionEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,105 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.TransactionEvent;
+import com.yassine.bankingapi.model.OutboxEvent;
+import com.yassine.bankingapi.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes pending outbox events to the configured OutboxSink.
+ * Every interval-ms, batches of pending events are read per account in sequence
+ * order (only the outbox table is queried), handed to the sink, then marked published.
+ * A failure leaves the batch pending for the next run, so delivery is at least once and
+ * an account's events are delivered in commit order. Run the relay on one node only
+ * (banking.outbox.relay.enabled=false elsewhere).
+ */
+@Service
+@ConditionalOnProperty(name = "banking.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final int batchSize;
+    private final long retentionHours;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${banking.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${banking.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+        this.published = Counter.builder("banking.outbox.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish every pending event, batch by batch
+     */
+    @Scheduled(fixedDelayString = "${banking.outbox.relay.interval-ms:100}")
+    public void relayPending() {
+        try {
+            // A full batch means more may be pending
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, pending events will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publish the oldest pending batch, returning its size
+     */
+    public int relayBatch() {
+        // 1. Read the next pending events of each account
+        List<OutboxEvent> pending = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // 2. Hand them to the sink (a failure leaves them all pending)
+        sink.publish(pending.stream()
+                .map(TransactionEvent::fromOutboxEvent)
+                .toList());
+
+        // 3. Mark them published; a crash before this commit redelivers the batch
+        List<Long> ids = pending.stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(tx -> outboxEventRepository.markPublished(ids, LocalDateTime.now()));
+        published.increment(pending.size());
+        return pending.size();
+    }
+
+    /**
+     * Delete events published before the retention period
+     */
+    @Scheduled(cron = "${banking.outbox.purge-cron:0 30 * * * *}")
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        log.debug("Purged {} published outbox events", deleted);
+    }
+}
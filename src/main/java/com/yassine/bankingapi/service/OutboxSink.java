@@ -0,0 +1,16 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.TransactionEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay, selected with banking.outbox.sink.
+ * Events arrive in outbox order, so events of one account arrive in commit order.
+ * An exception leaves the whole batch pending and it is published again on the next
+ * run: sinks must tolerate redelivery.
+ */
+public interface OutboxSink {
+
+    void publish(List<TransactionEvent> events);
+}
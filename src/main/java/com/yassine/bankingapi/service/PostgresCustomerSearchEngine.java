@@ -0,0 +1,78 @@
+package com.yassine.bankingapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Customer search on PostgreSQL with the pg_trgm extension.
+ * A GIN trigram index over the lower-cased name and email serves both the substring
+ * (LIKE '%kw%') and the fuzzy word-similarity (<%) predicates, and results are ranked
+ * by word_similarity. The extension and index are created at startup if missing.
+ */
+@Service
+@ConditionalOnProperty(name = "banking.search.engine", havingValue = "postgres")
+public class PostgresCustomerSearchEngine implements CustomerSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCustomerSearchEngine.class);
+
+    // Must match the indexed expression exactly for the planner to use the index
+    private static final String SEARCH_TEXT = "lower(first_name || ' ' || last_name || ' ' || email)";
+    private static final String MATCHES = "(:query <% " + SEARCH_TEXT + " OR " + SEARCH_TEXT + " LIKE :pattern ESCAPE '\\')";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresCustomerSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Create the trigram index once the schema exists
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try {
+            jdbcTemplate.getJdbcTemplate().execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.getJdbcTemplate().execute("CREATE INDEX IF NOT EXISTS idx_customers_search_trgm ON customers "
+                    + "USING gin ((" + SEARCH_TEXT + ") gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            // Typically missing privileges: searches still work, without the index
+            log.warn("Could not create the customer search trigram index: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Page<Long> search(String query, Pageable pageable) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", normalized)
+                .addValue("pattern", "%" + escapeLike(normalized) + "%")
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM customers WHERE " + MATCHES
+                + " ORDER BY word_similarity(:query, " + SEARCH_TEXT + ") DESC, id LIMIT :limit OFFSET :offset",
+                params, Long.class);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE " + MATCHES, params, Long.class);
+        return new PageImpl<>(ids, pageable, total == null ? 0 : total);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
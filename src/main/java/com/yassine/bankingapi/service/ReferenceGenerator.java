@@ -0,0 +1,12 @@
+package com.yassine.bankingapi.service;
+
+/**
+ * Source of unique business references (account numbers, transaction references)
+ */
+public interface ReferenceGenerator {
+
+    /**
+     * Next unique reference, e.g. "TXN" followed by a unique number
+     */
+    String nextReference(String prefix);
+}
@@ -0,0 +1,60 @@
+package com.yassine.bankingapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 63-bit ids, Snowflake layout:
+ * 41 bits of milliseconds since 2024-01-01 | 10 bits of node id | 12 bits of sequence.
+ * Lock-free: the last issued (timestamp, sequence) pair lives in one AtomicLong.
+ * When a millisecond runs out of sequence numbers, or the clock goes backwards,
+ * ids keep increasing by borrowing from the next millisecond instead of colliding.
+ */
+@Component
+public class SnowflakeReferenceGenerator implements ReferenceGenerator {
+
+    static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeShifted;
+    private final LongSupplier clock;
+
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence, of the last issued id
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public SnowflakeReferenceGenerator(@Value("${banking.reference.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeReferenceGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeShifted = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextReference(String prefix) {
+        return prefix + nextId();
+    }
+
+    /**
+     * Next unique, monotonically increasing id for this node
+     */
+    public long nextId() {
+        long floor = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long state = lastState.updateAndGet(previous -> Math.max(previous + 1, floor));
+        long timestamp = state >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeShifted | (state & SEQUENCE_MASK);
+    }
+}
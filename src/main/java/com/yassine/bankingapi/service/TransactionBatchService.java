@@ -0,0 +1,54 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.BatchItemDTO;
+import com.yassine.bankingapi.dto.BatchItemResult;
+import com.yassine.bankingapi.dto.BatchTransactionDTO;
+import com.yassine.bankingapi.dto.BatchTransactionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class TransactionBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBatchService.class);
+
+    private final TransactionService transactionService;
+
+    @Value("${banking.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public TransactionBatchService(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Apply a batch chunk by chunk; each chunk is one database transaction,
+     * so a large load never holds its row locks for the whole batch
+     */
+    public BatchTransactionResponse processBatch(BatchTransactionDTO dto) {
+        List<BatchItemDTO> items = dto.getItems();
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            List<BatchItemDTO> chunk = items.subList(start, Math.min(start + chunkSize, items.size()));
+            try {
+                results.addAll(transactionService.applyBatch(chunk, start));
+            } catch (ConcurrencyFailureException e) {
+                // Still contended after all retries: the chunk was rolled back as a whole
+                log.warn("Batch chunk starting at item {} rolled back: {}", start, e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(BatchItemResult.failure(start + i, chunk.get(i).getType().name(),
+                            "Accounts busy with concurrent operations, please retry"));
+                }
+            }
+        }
+
+        return BatchTransactionResponse.from(results);
+    }
+}
@@ -0,0 +1,142 @@
+package com.yassine.bankingapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yassine.bankingapi.dto.TransactionResponse;
+import com.yassine.bankingapi.exception.ResourceNotFoundException;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.repository.AccountRepository;
+import com.yassine.bankingapi.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams an account's full history as NDJSON or CSV in constant memory:
+ * rows come from a server-side cursor and are detached as soon as they are written.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,transactionReference,type,amount,balanceAfter,description,"
+            + "accountNumber,destinationAccountNumber,createdAt\n";
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepository, AccountRepository accountRepository,
+                                    EntityManager entityManager, ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    public enum ExportFormat {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Resolve the account up front, so an unknown account is a 404 rather than an empty stream
+     */
+    public Long resolveAccountId(String accountNumber) {
+        return accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountNumber));
+    }
+
+    /**
+     * Write every transaction of the account, oldest first
+     */
+    @Transactional(readOnly = true)
+    public void exportTransactions(Long accountId, String accountNumber, ExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        try (Stream<Transaction> transactions = transactionRepository.streamByAccountId(accountId)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            int rows = 0;
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                TransactionResponse row = toResponse(transaction, accountNumber);
+                // Keep the persistence context empty, whatever the history size
+                entityManager.detach(transaction);
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Map without touching the lazy account association (the account number is already known)
+     */
+    private TransactionResponse toResponse(Transaction transaction, String accountNumber) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getTransactionReference(),
+                transaction.getType().name(),
+                transaction.getAmount(),
+                transaction.getBalanceAfter(),
+                transaction.getDescription(),
+                accountNumber,
+                transaction.getDestinationAccountNumber(),
+                transaction.getCreatedAt());
+    }
+
+    private void writeCsvRow(Writer writer, TransactionResponse row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(csv(row.getTransactionReference()));
+        writer.write(',');
+        writer.write(row.getType());
+        writer.write(',');
+        writer.write(row.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(row.getBalanceAfter() != null ? row.getBalanceAfter().toPlainString() : "");
+        writer.write(',');
+        writer.write(csv(row.getDescription()));
+        writer.write(',');
+        writer.write(csv(row.getAccountNumber()));
+        writer.write(',');
+        writer.write(csv(row.getDestinationAccountNumber()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCreatedAt()));
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV field when it contains a separator, a quote or a line break
+     */
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
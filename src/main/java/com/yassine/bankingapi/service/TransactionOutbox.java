@@ -0,0 +1,65 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.model.OutboxEvent;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.repository.AccountRepository;
+import com.yassine.bankingapi.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records an outbox event for each saved transaction, in the caller's database
+ * transaction: the events commit or roll back with the money movement. Each event
+ * gets the account's next sequence number, reserved under the account row lock.
+ */
+@Service
+public class TransactionOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AccountRepository accountRepository;
+    private final boolean enabled;
+
+    public TransactionOutbox(OutboxEventRepository outboxEventRepository, AccountRepository accountRepository,
+                             @Value("${banking.outbox.enabled:true}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.accountRepository = accountRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record the events of saved transactions (ids and references already assigned)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<Transaction> transactions) {
+        if (!enabled || transactions.isEmpty()) {
+            return;
+        }
+        // 1. Group by account (in account-number order, the stable lock order), keeping
+        //    each account's transactions in the order they were applied
+        Map<String, List<Transaction>> byAccount = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            byAccount.computeIfAbsent(transaction.getAccount().getAccountNumber(), k -> new ArrayList<>())
+                    .add(transaction);
+        }
+
+        // 2. Reserve each account's next positions; the UPDATE holds the row lock until commit,
+        //    so a concurrent writer of the account only reads the sequence once this one commits
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        byAccount.forEach((accountNumber, accountTransactions) -> {
+            accountRepository.advanceEventSequence(accountNumber, accountTransactions.size());
+            long next = accountRepository.findEventSequence(accountNumber).orElseThrow()
+                    - accountTransactions.size() + 1;
+            for (Transaction transaction : accountTransactions) {
+                events.add(new OutboxEvent(transaction, next++));
+            }
+        });
+        outboxEventRepository.saveAll(events);
+    }
+}
@@ -1,98 +1,141 @@
 package com.yassine.bankingapi.service;
 
+import com.yassine.bankingapi.config.ConcurrencyMode;
+import com.yassine.bankingapi.dto.BatchItemDTO;
+import com.yassine.bankingapi.dto.BatchItemResult;
+import com.yassine.bankingapi.dto.CursorPageResponse;
+import com.yassine.bankingapi.dto.MonthlyStatementResponse;
+import com.yassine.bankingapi.dto.StatementAggregate;
 import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransactionResponse;
 import com.yassine.bankingapi.dto.TransferDTO;
 import com.yassine.bankingapi.exception.BadRequestException;
 import com.yassine.bankingapi.exception.ResourceNotFoundException;
 import com.yassine.bankingapi.model.Account;
 import com.yassine.bankingapi.model.Account.AccountStatus;
 import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.model.Transaction.Direction;
 import com.yassine.bankingapi.model.Transaction.TransactionType;
 import com.yassine.bankingapi.repository.AccountRepository;
 import com.yassine.bankingapi.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class TransactionService {
 
+    private static final int MAX_HISTORY_LIMIT = 100;
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final TransactionOutbox transactionOutbox;
+    private final BalanceSnapshotService balanceSnapshotService;
+
+    @Value("${banking.concurrency.mode:PESSIMISTIC}")
+    private ConcurrencyMode concurrencyMode = ConcurrencyMode.PESSIMISTIC;
 
-    public TransactionService(TransactionRepository transactionRepository, AccountRepository accountRepository) {
+    public TransactionService(TransactionRepository transactionRepository, AccountRepository accountRepository,
+                              AccountSnapshotCache accountSnapshotCache, TransactionOutbox transactionOutbox,
+                              BalanceSnapshotService balanceSnapshotService) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.transactionOutbox = transactionOutbox;
+        this.balanceSnapshotService = balanceSnapshotService;
     }
 
     /**
      * Deposit money into an account
      */
+    @Retryable(interceptor = "concurrencyRetryInterceptor")
     @Transactional
     public Transaction deposit(TransactionDTO dto) {
-        // 1. Find and validate the account
-        Account account = findAndValidateAccount(dto.getAccountNumber());
-
-        // 2. Validate amount
+        // 1. Validate amount
         validateAmount(dto.getAmount());
 
-        // 3. Add to balance
-        BigDecimal newBalance = account.getBalance().add(dto.getAmount());
-        account.setBalance(newBalance);
+        // 2. Credit the balance in a single conditional UPDATE returning the new balance
+        //    (no read-modify-write, no re-read; the row stays locked until commit)
+        Optional<Account> credited = accountRepository.creditBalance(
+                dto.getAccountNumber(), dto.getAmount(), AccountStatus.ACTIVE, LocalDateTime.now());
+        if (credited.isEmpty()) {
+            // Nothing matched: report why (unknown or inactive account)
+            findAndValidateAccount(dto.getAccountNumber());
+            throw new BadRequestException("Deposit could not be applied to account: " + dto.getAccountNumber());
+        }
+        Account account = credited.get();
+        accountSnapshotCache.evictAfterCommit(dto.getAccountNumber());
 
-        // 4. Create transaction record
-        Transaction transaction = new Transaction();
-        transaction.setType(TransactionType.DEPOSIT);
-        transaction.setAmount(dto.getAmount());
-        transaction.setBalanceAfter(newBalance);
-        transaction.setDescription(dto.getDescription() != null ? dto.getDescription() : "Deposit");
-        transaction.setAccount(account);
+        // 3. Create transaction record
 
-        // 5. Save everything
-        accountRepository.save(account);
-        return transactionRepository.save(transaction);
+        Transaction transaction = buildTransaction(TransactionType.DEPOSIT, Direction.CREDIT, dto.getAmount(), account.getBalance(),
+                dto.getDescription() != null ? dto.getDescription() : "Deposit", account, null);
+
+        // 4. Save the record, its outbox event and the day's balance
+        Transaction saved = transactionRepository.save(transaction);
+        transactionOutbox.record(List.of(saved));
+        balanceSnapshotService.record(List.of(saved));
+        return saved;
     }
 
     /**
      * Withdraw money from an account
      */
+    @Retryable(interceptor = "concurrencyRetryInterceptor")
     @Transactional
     public Transaction withdraw(TransactionDTO dto) {
-        // 1. Find and validate the account
-        Account account = findAndValidateAccount(dto.getAccountNumber());
-
-        // 2. Validate amount
+        // 1. Validate amount
         validateAmount(dto.getAmount());
 
-        // 3. Check sufficient balance
-        if (account.getBalance().compareTo(dto.getAmount()) < 0) {
+        // 2. Debit the balance in a single conditional UPDATE (guarded by balance >= amount)
+        //    returning the new balance
+        Optional<Account> debited = accountRepository.debitBalance(
+                dto.getAccountNumber(), dto.getAmount(), AccountStatus.ACTIVE, LocalDateTime.now());
+        if (debited.isEmpty()) {
+            // Nothing matched: report why (unknown account, inactive account or insufficient balance)
+            Account account = findAndValidateAccount(dto.getAccountNumber());
             throw new BadRequestException("Insufficient balance. Available: " + account.getBalance());
         }
-
-        // 4. Subtract from balance
-        BigDecimal newBalance = account.getBalance().subtract(dto.getAmount());
-        account.setBalance(newBalance);
-
-        // 5. Create transaction record
-        Transaction transaction = new Transaction();
-        transaction.setType(TransactionType.WITHDRAWAL);
-        transaction.setAmount(dto.getAmount());
-        transaction.setBalanceAfter(newBalance);
-        transaction.setDescription(dto.getDescription() != null ? dto.getDescription() : "Withdrawal");
-        transaction.setAccount(account);
-
-        // 6. Save everything
-        accountRepository.save(account);
-        return transactionRepository.save(transaction);
+        Account account = debited.get();
+        accountSnapshotCache.evictAfterCommit(dto.getAccountNumber());
+
+        // 3. Create transaction record
+        Transaction transaction = buildTransaction(TransactionType.WITHDRAWAL, Direction.DEBIT, dto.getAmount(), account.getBalance(),
+                dto.getDescription() != null ? dto.getDescription() : "Withdrawal", account, null);
+
+        // 4. Save the record, its outbox event and the day's balance
+        Transaction saved = transactionRepository.save(transaction);
+        transactionOutbox.record(List.of(saved));
+        balanceSnapshotService.record(List.of(saved));
+        return saved;
     }
 
     /**
-     * Transfer money between two accounts
+     * Transfer money between two accounts.
+     * In PESSIMISTIC mode both rows are locked in account-number order, so crossed
+     * transfers (A to B and B to A) queue up instead of deadlocking. In OPTIMISTIC mode
+     * the rows are read without locks and the @Version check rejects conflicting commits.
+     * Either way, a concurrency failure rolls back and replays the whole transfer.
      */
+    @Retryable(interceptor = "concurrencyRetryInterceptor")
     @Transactional
     public List<Transaction> transfer(TransferDTO dto) {
         // 1. Validate source and destination are different
@@ -100,9 +143,19 @@ public class TransactionService {
             throw new BadRequestException("Cannot transfer to the same account");
         }
 
-        // 2. Find and validate both accounts
-        Account fromAccount = findAndValidateAccount(dto.getFromAccountNumber());
-        Account toAccount = findAndValidateAccount(dto.getToAccountNumber());
+        // 2. Load and validate both accounts (locked in a stable global order if pessimistic)
+        Account fromAccount;
+        Account toAccount;
+        if (concurrencyMode == ConcurrencyMode.OPTIMISTIC) {
+            fromAccount = findAndValidateAccount(dto.getFromAccountNumber());
+            toAccount = findAndValidateAccount(dto.getToAccountNumber());
+        } else if (dto.getFromAccountNumber().compareTo(dto.getToAccountNumber()) < 0) {
+            fromAccount = lockAndValidateAccount(dto.getFromAccountNumber());
+            toAccount = lockAndValidateAccount(dto.getToAccountNumber());
+        } else {
+            toAccount = lockAndValidateAccount(dto.getToAccountNumber());
+            fromAccount = lockAndValidateAccount(dto.getFromAccountNumber());
+        }
 
         // 3. Validate amount
         validateAmount(dto.getAmount());
@@ -123,82 +176,200 @@ public class TransactionService {
         String description = dto.getDescription() != null ? dto.getDescription() : "Transfer";
 
         // Outgoing transaction (from source account)
-        Transaction outgoing = new Transaction();
-        outgoing.setType(TransactionType.TRANSFER);
-        outgoing.setAmount(dto.getAmount());
-        outgoing.setBalanceAfter(fromNewBalance);
-        outgoing.setDescription(description + " to " + dto.getToAccountNumber());
-        outgoing.setAccount(fromAccount);
-        outgoing.setDestinationAccountNumber(dto.getToAccountNumber());
+        Transaction outgoing = buildTransaction(TransactionType.TRANSFER, Direction.DEBIT, dto.getAmount(), fromNewBalance,
+                description + " to " + dto.getToAccountNumber(), fromAccount, dto.getToAccountNumber());
 
         // Incoming transaction (to destination account)
-        Transaction incoming = new Transaction();
-        incoming.setType(TransactionType.TRANSFER);
-        incoming.setAmount(dto.getAmount());
-        incoming.setBalanceAfter(toNewBalance);
-        incoming.setDescription(description + " from " + dto.getFromAccountNumber());
-        incoming.setAccount(toAccount);
-        incoming.setDestinationAccountNumber(dto.getFromAccountNumber());
+        Transaction incoming = buildTransaction(TransactionType.TRANSFER, Direction.CREDIT, dto.getAmount(), toNewBalance,
+                description + " from " + dto.getFromAccountNumber(), toAccount, dto.getFromAccountNumber());
 
         // 7. Save everything
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
+        accountSnapshotCache.evictAfterCommit(fromAccount.getAccountNumber(), toAccount.getAccountNumber());
         Transaction savedOutgoing = transactionRepository.save(outgoing);
         Transaction savedIncoming = transactionRepository.save(incoming);
+        List<Transaction> saved = List.of(savedOutgoing, savedIncoming);
+        transactionOutbox.record(saved);
+        balanceSnapshotService.record(saved);
+
+        return saved;
+    }
+
+    /**
+     * Apply a chunk of batch items in one database transaction.
+     * Every referenced account is loaded once (locked in account-number order in
+     * PESSIMISTIC mode), items are applied in memory in request order, and the dirty
+     * accounts and new records are flushed as JDBC batches at commit. Business
+     * failures are reported per item and do not abort the rest of the chunk.
+     */
+    @Retryable(interceptor = "concurrencyRetryInterceptor")
+    @Transactional
+    public List<BatchItemResult> applyBatch(List<BatchItemDTO> items, int firstIndex) {
+        // 1. Load every referenced account once
+        Set<String> accountNumbers = new TreeSet<>();
+        for (BatchItemDTO item : items) {
+            accountNumbers.add(item.getAccountNumber());
+            if (item.getDestinationAccountNumber() != null) {
+                accountNumbers.add(item.getDestinationAccountNumber());
+            }
+        }
+        List<Account> accounts = concurrencyMode == ConcurrencyMode.OPTIMISTIC
+                ? accountRepository.findByAccountNumberIn(accountNumbers)
+                : accountRepository.findAllByAccountNumberInForUpdate(accountNumbers);
+        Map<String, Account> accountsByNumber = new HashMap<>();
+        for (Account account : accounts) {
+            accountsByNumber.put(account.getAccountNumber(), account);
+        }
+
+        // 2. Apply the items in request order, in memory
+        List<List<Transaction>> createdPerItem = new ArrayList<>(items.size());
+        List<String> errors = new ArrayList<>(items.size());
+        List<Transaction> records = new ArrayList<>();
+        for (BatchItemDTO item : items) {
+            try {
+                List<Transaction> created = applyBatchItem(item, accountsByNumber);
+                createdPerItem.add(created);
+                errors.add(null);
+                records.addAll(created);
+            } catch (BadRequestException | ResourceNotFoundException e) {
+                createdPerItem.add(List.of());
+                errors.add(e.getMessage());
+            }
+        }
 
-        return List.of(savedOutgoing, savedIncoming);
+        // 3. Persist the records, their outbox events and the day's balances
+        //    (sequence ids, so the INSERTs are batched at flush)
+        List<Transaction> saved = transactionRepository.saveAll(records);
+        transactionOutbox.record(saved);
+        balanceSnapshotService.record(saved);
+        accountSnapshotCache.evictAfterCommit(accountsByNumber.keySet());
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String type = items.get(i).getType().name();
+            if (errors.get(i) != null) {
+                results.add(BatchItemResult.failure(firstIndex + i, type, errors.get(i)));
+            } else {
+                results.add(BatchItemResult.success(firstIndex + i, type, createdPerItem.get(i).stream()
+                        .map(TransactionResponse::fromTransaction)
+                        .toList()));
+            }
+        }
+        return results;
     }
 
     /**
      * Get all transactions for an account
      */
-    public List<Transaction> getAccountTransactions(String accountNumber) {
+    public List<TransactionResponse> getAccountTransactions(String accountNumber) {
         // Verify account exists
-        if (!accountRepository.findByAccountNumber(accountNumber).isPresent()) {
+        if (accountRepository.findIdByAccountNumber(accountNumber).isEmpty()) {
             throw new ResourceNotFoundException("Account not found: " + accountNumber);
         }
-        return transactionRepository.findByAccountAccountNumberOrderByCreatedAtDesc(accountNumber);
+        return transactionRepository.findResponsesByAccountNumber(accountNumber);
+    }
+
+    /**
+     * Get an account's monthly statement summaries from 'from' to 'to' (inclusive), computed by
+     * a single GROUP BY query; months without transactions are omitted
+     */
+    public List<MonthlyStatementResponse> getMonthlyStatements(String accountNumber, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountNumber));
+
+        List<StatementAggregate> rows = transactionRepository.findStatementAggregates(
+                accountId, from.atDay(1).atStartOfDay(), to.plusMonths(1).atDay(1).atStartOfDay());
+
+        // Fold the (month, type, direction) rows into one summary per month
+        Map<YearMonth, MonthlyStatementResponse> statements = new TreeMap<>();
+        for (StatementAggregate row : rows) {
+            YearMonth month = YearMonth.of(row.getYear(), row.getMonth());
+            MonthlyStatementResponse statement = statements.computeIfAbsent(month,
+                    m -> new MonthlyStatementResponse(m.toString()));
+            addToStatement(statement, row);
+        }
+        return new ArrayList<>(statements.values());
+    }
+
+    /**
+     * Get one page of an account's history (newest first) using keyset pagination.
+     * The cursor carries the (createdAt, id) of the last row of the previous page,
+     * so every page costs one index range scan however deep it is.
+     */
+    public CursorPageResponse<TransactionResponse> getAccountTransactionHistory(String accountNumber, String cursor, int limit) {
+        KeysetCursor.validateLimit(limit, MAX_HISTORY_LIMIT);
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountNumber));
+
+        // Fetch one extra row to know whether another page follows
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<TransactionResponse> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findLatestByAccountId(accountId, pageable);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            try {
+                transactions = transactionRepository.findByAccountIdBefore(
+                        accountId, LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]), pageable);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+        }
+
+        boolean hasNext = transactions.size() > limit;
+        List<TransactionResponse> page = hasNext ? transactions.subList(0, limit) : transactions;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionResponse last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorPageResponse<>(page, limit, hasNext, nextCursor);
     }
 
     /**
      * Get transactions with date range filter
      */
-    public List<Transaction> getAccountTransactionsByDateRange(String accountNumber, LocalDate startDate, LocalDate endDate) {
-        if (!accountRepository.findByAccountNumber(accountNumber).isPresent()) {
+    public List<TransactionResponse> getAccountTransactionsByDateRange(String accountNumber, LocalDate startDate, LocalDate endDate) {
+        if (accountRepository.findIdByAccountNumber(accountNumber).isEmpty()) {
             throw new ResourceNotFoundException("Account not found: " + accountNumber);
         }
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.atTime(23, 59, 59);
-        return transactionRepository.findByAccountNumberAndDateRange(accountNumber, start, end);
+        return transactionRepository.findResponsesByAccountNumberAndDateRange(accountNumber, start, end);
     }
 
     /**
      * Get transactions by type
      */
-    public List<Transaction> getAccountTransactionsByType(String accountNumber, TransactionType type) {
-        if (!accountRepository.findByAccountNumber(accountNumber).isPresent()) {
+    public List<TransactionResponse> getAccountTransactionsByType(String accountNumber, TransactionType type) {
+        if (accountRepository.findIdByAccountNumber(accountNumber).isEmpty()) {
             throw new ResourceNotFoundException("Account not found: " + accountNumber);
         }
-        return transactionRepository.findByAccountAccountNumberAndTypeOrderByCreatedAtDesc(accountNumber, type);
+        return transactionRepository.findResponsesByAccountNumberAndType(accountNumber, type);
     }
 
     /**
      * Get transactions with date range and type filter
      */
-    public List<Transaction> getAccountTransactionsFiltered(String accountNumber, TransactionType type, LocalDate startDate, LocalDate endDate) {
-        if (!accountRepository.findByAccountNumber(accountNumber).isPresent()) {
+    public List<TransactionResponse> getAccountTransactionsFiltered(String accountNumber, TransactionType type, LocalDate startDate, LocalDate endDate) {
+        if (accountRepository.findIdByAccountNumber(accountNumber).isEmpty()) {
             throw new ResourceNotFoundException("Account not found: " + accountNumber);
         }
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.atTime(23, 59, 59);
-        return transactionRepository.findByAccountNumberAndTypeAndDateRange(accountNumber, type, start, end);
+        return transactionRepository.findResponsesByAccountNumberAndTypeAndDateRange(accountNumber, type, start, end);
     }
 
     /**
      * Get transaction by ID
      */
-    public Transaction getTransactionById(Long id) {
-        return transactionRepository.findById(id)
+    public TransactionResponse getTransactionById(Long id) {
+        return transactionRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
     }
 
@@ -216,6 +387,131 @@ public class TransactionService {
         return account;
     }
 
+    /**
+     * Helper method to apply one batch item to already loaded accounts
+     */
+    private List<Transaction> applyBatchItem(BatchItemDTO item, Map<String, Account> accountsByNumber) {
+        validateAmount(item.getAmount());
+        Account account = getLoadedActiveAccount(item.getAccountNumber(), accountsByNumber);
+
+        switch (item.getType()) {
+            case DEPOSIT -> {
+                account.setBalance(account.getBalance().add(item.getAmount()));
+                return List.of(buildTransaction(TransactionType.DEPOSIT, Direction.CREDIT, item.getAmount(), account.getBalance(),
+                        item.getDescription() != null ? item.getDescription() : "Deposit", account, null));
+            }
+            case WITHDRAWAL -> {
+                if (account.getBalance().compareTo(item.getAmount()) < 0) {
+                    throw new BadRequestException("Insufficient balance. Available: " + account.getBalance());
+                }
+                account.setBalance(account.getBalance().subtract(item.getAmount()));
+                return List.of(buildTransaction(TransactionType.WITHDRAWAL, Direction.DEBIT, item.getAmount(), account.getBalance(),
+                        item.getDescription() != null ? item.getDescription() : "Withdrawal", account, null));
+            }
+            default -> {
+                String destinationNumber = item.getDestinationAccountNumber();
+                if (destinationNumber == null) {
+                    throw new BadRequestException("Destination account number is required for transfers");
+                }
+                if (destinationNumber.equals(item.getAccountNumber())) {
+                    throw new BadRequestException("Cannot transfer to the same account");
+                }
+                Account destination = getLoadedActiveAccount(destinationNumber, accountsByNumber);
+                if (account.getBalance().compareTo(item.getAmount()) < 0) {
+                    throw new BadRequestException("Insufficient balance. Available: " + account.getBalance());
+                }
+                account.setBalance(account.getBalance().subtract(item.getAmount()));
+                destination.setBalance(destination.getBalance().add(item.getAmount()));
+
+                String description = item.getDescription() != null ? item.getDescription() : "Transfer";
+                return List.of(
+                        buildTransaction(TransactionType.TRANSFER, Direction.DEBIT, item.getAmount(), account.getBalance(),
+                                description + " to " + destinationNumber, account, destinationNumber),
+                        buildTransaction(TransactionType.TRANSFER, Direction.CREDIT, item.getAmount(), destination.getBalance(),
+                                description + " from " + item.getAccountNumber(), destination, item.getAccountNumber()));
+            }
+        }
+    }
+
+    /**
+     * Helper method to add one aggregate row to its month's statement
+     */
+    private void addToStatement(MonthlyStatementResponse statement, StatementAggregate row) {
+        long count = row.getCount();
+        BigDecimal total = row.getTotal();
+        switch (row.getType()) {
+            case DEPOSIT -> {
+                statement.setDepositCount(statement.getDepositCount() + count);
+                statement.setDepositTotal(statement.getDepositTotal().add(total));
+            }
+            case WITHDRAWAL -> {
+                statement.setWithdrawalCount(statement.getWithdrawalCount() + count);
+                statement.setWithdrawalTotal(statement.getWithdrawalTotal().add(total));
+            }
+            default -> {
+                if (row.getDirection() == Direction.CREDIT) {
+                    statement.setTransferInCount(statement.getTransferInCount() + count);
+                    statement.setTransferInTotal(statement.getTransferInTotal().add(total));
+                } else {
+                    statement.setTransferOutCount(statement.getTransferOutCount() + count);
+                    statement.setTransferOutTotal(statement.getTransferOutTotal().add(total));
+                }
+            }
+        }
+        if (row.getMinBalance() != null
+                && (statement.getMinBalance() == null || row.getMinBalance().compareTo(statement.getMinBalance()) < 0)) {
+            statement.setMinBalance(row.getMinBalance());
+        }
+        if (row.getMaxBalance() != null
+                && (statement.getMaxBalance() == null || row.getMaxBalance().compareTo(statement.getMaxBalance()) > 0)) {
+            statement.setMaxBalance(row.getMaxBalance());
+        }
+    }
+
+    /**
+     * Helper method to validate an account loaded for a batch
+     */
+    private Account getLoadedActiveAccount(String accountNumber, Map<String, Account> accountsByNumber) {
+        Account account = accountsByNumber.get(accountNumber);
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found: " + accountNumber);
+        }
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new BadRequestException("Account is not active. Status: " + account.getStatus());
+        }
+        return account;
+    }
+
+    /**
+     * Helper method to build a transaction record
+     */
+    private Transaction buildTransaction(TransactionType type, Direction direction, BigDecimal amount, BigDecimal balanceAfter,
+                                         String description, Account account, String destinationAccountNumber) {
+        Transaction transaction = new Transaction();
+        transaction.setType(type);
+        transaction.setDirection(direction);
+        transaction.setAmount(amount);
+        transaction.setBalanceAfter(balanceAfter);
+        transaction.setDescription(description);
+        transaction.setAccount(account);
+        transaction.setDestinationAccountNumber(destinationAccountNumber);
+        return transaction;
+    }
+
+    /**
+     * Helper method to lock (SELECT ... FOR UPDATE) and validate an account
+     */
+    private Account lockAndValidateAccount(String accountNumber) {
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountNumber));
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new BadRequestException("Account is not active. Status: " + account.getStatus());
+        }
+
+        return account;
+    }
+
     /**
      * Helper method to validate amount
      */
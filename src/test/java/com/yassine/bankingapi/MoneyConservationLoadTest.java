@@ -0,0 +1,278 @@
+package com.yassine.bankingapi;
+
+import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.security.JwtUtils;
+import com.yassine.bankingapi.service.AccountService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives mixed deposit / withdraw / transfer / balance traffic from many concurrent
+ * clients against the application on a random port, prints throughput and latency
+ * percentiles per endpoint, then checks that no money was created or lost: the sum of
+ * all balances must equal the net (credits minus debits) of all transaction rows.
+ * Excluded from the default build: run with mvn -Pload test. Tunable with
+ * -Dload.clients, -Dload.requests-per-client, -Dload.accounts,
+ * -Dload.distribution=uniform|zipf, -Dload.zipf-exponent and, to run against a
+ * disposable local PostgreSQL (its tables are dropped), -Dload.datasource-url,
+ * -Dload.datasource-username and -Dload.datasource-password.
+ */
+@Tag("load")
+@DisplayName("Mixed traffic load test with money-conservation invariant")
+class MoneyConservationLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 500);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests-per-client", 40);
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 200);
+    private static final String DISTRIBUTION = System.getProperty("load.distribution", "zipf");
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("load.zipf-exponent", "1.0"));
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    @Test
+    @DisplayName("Balances equal the net of all transactions after concurrent mixed traffic")
+    void mixedTraffic_ConservesMoney() throws Exception {
+        // Passed as command-line arguments: builder properties are only defaults, below application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BankingApiApplication.class)
+                .run(applicationArguments())) {
+            // Arrange
+            List<String> accounts = seedAccounts(context);
+            String token = context.getBean(JwtUtils.class).generateToken("load-tester", "USER", 0L);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            AccountPicker picker = new AccountPicker(accounts.size(), "zipf".equalsIgnoreCase(DISTRIBUTION));
+            ExecutorService httpExecutor = Executors.newFixedThreadPool(32);
+            HttpClient client = HttpClient.newBuilder().executor(httpExecutor).build();
+
+            Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+            Map<String, AtomicInteger> statuses = new ConcurrentHashMap<>();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+            // Act
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        Call call = nextCall(accounts, picker, baseUrl, token);
+                        long begin = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(call.request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = 0;
+                        }
+                        latencies.computeIfAbsent(call.endpoint(), k -> new ConcurrentLinkedQueue<>())
+                                .add(System.nanoTime() - begin);
+                        statuses.computeIfAbsent(call.endpoint() + " " + status, k -> new AtomicInteger())
+                                .incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(10, TimeUnit.MINUTES), "Load did not finish in time");
+            double elapsedSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            httpExecutor.shutdown();
+
+            report(latencies, statuses, elapsedSeconds);
+
+            // Assert
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            BigDecimal balances = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(balance), 0) FROM accounts", BigDecimal.class);
+            BigDecimal net = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(CASE WHEN direction = 'CREDIT' THEN amount ELSE -amount END), 0) FROM transactions",
+                    BigDecimal.class);
+            assertEquals(0, balances.compareTo(net), "Sum of balances " + balances + " != net of transactions " + net);
+            // Mutations succeed or fail for business reasons only; reads succeed: no auth failure,
+            // server error or dropped connection can hide among them
+            long unexpected = statuses.entrySet().stream()
+                    .filter(e -> !isExpected(e.getKey()))
+                    .mapToLong(e -> e.getValue().get())
+                    .sum();
+            assertEquals(0, unexpected, "Unexpected statuses: " + new TreeMap<>(statuses));
+            long created = statuses.entrySet().stream()
+                    .filter(e -> e.getKey().endsWith(" 201"))
+                    .mapToLong(e -> e.getValue().get())
+                    .sum();
+            assertTrue(created > 0, "No mutation succeeded: " + new TreeMap<>(statuses));
+        }
+    }
+
+    // Keys are "<endpoint> <status>"
+    private static boolean isExpected(String endpointAndStatus) {
+        String[] parts = endpointAndStatus.split(" ");
+        if (parts[0].equals("balance")) {
+            return parts[1].equals("200");
+        }
+        return List.of("201", "400", "409", "429").contains(parts[1]);
+    }
+
+    private String[] applicationArguments() {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "jwt.stateless-claims=true",
+                "banking.request-limit.acquire-timeout-ms=30000",
+                "logging.level.com.yassine.bankingapi=INFO",
+                "logging.level.org.springframework.security=INFO"));
+        String url = System.getProperty("load.datasource-url");
+        if (url == null) {
+            properties.add("spring.datasource.url=jdbc:h2:mem:load_money;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=3000");
+        } else {
+            properties.add("spring.datasource.url=" + url);
+            properties.add("spring.datasource.username=" + System.getProperty("load.datasource-username", "postgres"));
+            properties.add("spring.datasource.password=" + System.getProperty("load.datasource-password", ""));
+            properties.add("spring.datasource.driver-class-name=org.postgresql.Driver");
+            properties.add("spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        return properties.stream()
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+    }
+
+    private List<String> seedAccounts(ConfigurableApplicationContext context) {
+        Customer customer = new Customer();
+        customer.setFirstName("Load");
+        customer.setLastName("Tester");
+        customer.setEmail("money-load@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = context.getBean(CustomerRepository.class).save(customer);
+
+        // Opened through the service so each initial deposit is recorded as a transaction
+        AccountService accountService = context.getBean(AccountService.class);
+        List<String> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(accountService.createAccount(
+                    new AccountDTO(customer.getId(), AccountType.CURRENT, INITIAL_BALANCE)).getAccountNumber());
+        }
+        return accounts;
+    }
+
+    // 30% deposits, 20% withdrawals, 30% transfers, 20% balance reads
+    private Call nextCall(List<String> accounts, AccountPicker picker, String baseUrl, String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        String account = accounts.get(picker.next());
+        String amount = random.nextInt(1, 50) + ".00";
+        if (roll < 30) {
+            return post("deposit", baseUrl + "/transactions/deposit", token,
+                    "{\"accountNumber\":\"" + account + "\",\"amount\":" + amount + "}");
+        }
+        if (roll < 50) {
+            return post("withdraw", baseUrl + "/transactions/withdraw", token,
+                    "{\"accountNumber\":\"" + account + "\",\"amount\":" + amount + "}");
+        }
+        if (roll < 80) {
+            String destination = accounts.get(picker.next());
+            while (destination.equals(account)) {
+                destination = accounts.get(random.nextInt(accounts.size()));
+            }
+            return post("transfer", baseUrl + "/transactions/transfer", token,
+                    "{\"fromAccountNumber\":\"" + account + "\",\"toAccountNumber\":\"" + destination
+                            + "\",\"amount\":" + amount + "}");
+        }
+        return new Call("balance", HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + account + "/balance"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build());
+    }
+
+    private Call post(String endpoint, String url, String token, String body) {
+        return new Call(endpoint, HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void report(Map<String, Queue<Long>> latencies, Map<String, AtomicInteger> statuses, double elapsedSeconds) {
+        System.out.printf("%n%d clients x %d requests, %d accounts, %s distribution, %.1f s%n",
+                CLIENTS, REQUESTS_PER_CLIENT, ACCOUNTS, DISTRIBUTION, elapsedSeconds);
+        System.out.printf("%-10s %8s %10s %9s %9s %9s%n", "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Map.Entry<String, Queue<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %8d %10.0f %9.1f %9.1f %9.1f%n", entry.getKey(), sorted.length,
+                    sorted.length / elapsedSeconds, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99));
+        }
+        System.out.println("Statuses: " + new TreeMap<>(statuses));
+    }
+
+    private double percentile(long[] sorted, double quantile) {
+        int index = Math.max(0, (int) Math.ceil(sorted.length * quantile) - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+
+    private record Call(String endpoint, HttpRequest request) {
+    }
+
+    /**
+     * Picks account indexes uniformly, or with Zipf popularity (index 0 the hottest)
+     */
+    private static final class AccountPicker {
+
+        private final int size;
+        private final double[] cumulative;
+
+        private AccountPicker(int size, boolean zipf) {
+            this.size = size;
+            this.cumulative = zipf ? zipfCumulative(size) : null;
+        }
+
+        private int next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (cumulative == null) {
+                return random.nextInt(size);
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, size - 1);
+        }
+
+        private static double[] zipfCumulative(int size) {
+            double[] cumulative = new double[size];
+            double total = 0;
+            for (int k = 0; k < size; k++) {
+                total += 1.0 / Math.pow(k + 1, ZIPF_EXPONENT);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulative[k] /= total;
+            }
+            return cumulative;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.yassine.bankingapi;
+
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.AccountRepository;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.security.JwtUtils;
+import com.yassine.bankingapi.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the same read workload (history endpoint, one DB query per request) against
+ * the platform-thread and the virtual-thread pipelines and prints throughput and p99.
+ * Excluded from the default build: run with mvn -Pjava21,load test.
+ */
+@Tag("load")
+@DisplayName("Platform vs virtual thread request pipeline load test")
+class ThreadingModeLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @Test
+    @DisplayName("Virtual threads serve the same load as platform threads without errors")
+    void compareThreadingModes() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21 (mvn -Pjava21,load test)");
+
+        // Act
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        // Assert
+        System.out.printf("%nplatform: %8.0f req/s, p99 %6.1f ms%nvirtual : %8.0f req/s, p99 %6.1f ms%n",
+                platform.throughput(), platform.p99Millis(), virtual.throughput(), virtual.p99Millis());
+        assertEquals(0, platform.errors(), "Platform-thread mode returned errors");
+        assertEquals(0, virtual.errors(), "Virtual-thread mode returned errors");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        // Command-line arguments: builder properties are only defaults, below application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BankingApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + mode + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=3000",
+                        "--spring.jpa.show-sql=false",
+                        "--jwt.stateless-claims=true",
+                        "--banking.request-limit.acquire-timeout-ms=30000",
+                        "--logging.level.com.yassine.bankingapi=INFO",
+                        "--logging.level.org.springframework.security=INFO")) {
+            // Arrange
+            String accountNumber = seedAccount(context);
+            String token = context.getBean(JwtUtils.class).generateToken("load-tester", "USER", 0L);
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/transactions/account/" + accountNumber + "/history?limit=20");
+            ExecutorService httpExecutor = Executors.newFixedThreadPool(16);
+            HttpClient client = HttpClient.newBuilder().executor(httpExecutor).build();
+            HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).GET().build();
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            // Act
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long begin = System.nanoTime();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(5, TimeUnit.MINUTES), "Load did not finish in time");
+            long elapsed = System.nanoTime() - begin;
+            httpExecutor.shutdown();
+
+            Arrays.sort(latencies);
+            double throughput = latencies.length / (elapsed / 1_000_000_000.0);
+            double p99 = latencies[(int) (latencies.length * 0.99) - 1] / 1_000_000.0;
+            return new Result(throughput, p99, errors.get());
+        }
+    }
+
+    private String seedAccount(ConfigurableApplicationContext context) {
+        Customer customer = new Customer();
+        customer.setFirstName("Load");
+        customer.setLastName("Tester");
+        customer.setEmail("load@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = context.getBean(CustomerRepository.class).save(customer);
+
+        Account account = new Account();
+        account.setAccountType(AccountType.CURRENT);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setCustomer(customer);
+        String accountNumber = context.getBean(AccountRepository.class).save(account).getAccountNumber();
+
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        for (int i = 0; i < 100; i++) {
+            transactionService.deposit(new TransactionDTO(accountNumber, BigDecimal.TEN, "Load seed"));
+        }
+        return accountNumber;
+    }
+
+    private record Result(double throughput, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.yassine.bankingapi.config;
+
+import com.yassine.bankingapi.exception.ResourceNotFoundException;
+import com.yassine.bankingapi.service.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DisplayName("ServiceMetricsAspect tests")
+class ServiceMetricsAspectTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should time service operations tagged by operation and outcome")
+    void serviceCall_RecordedWithOutcome() {
+        // Arrange
+        double failures = count("getAccountByNumber", "ResourceNotFoundException");
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountByNumber("ACC-MISSING"));
+        assertNotNull(accountService.getAccounts(null, 10, null, null));
+
+        // Assert
+        assertEquals(failures + 1, count("getAccountByNumber", "ResourceNotFoundException"));
+        assertTrue(count("getAccounts", "success") >= 1);
+    }
+
+    private double count(String operation, String outcome) {
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", "AccountService", "operation", operation, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
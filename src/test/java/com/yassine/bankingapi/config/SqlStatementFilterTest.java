@@ -0,0 +1,110 @@
+package com.yassine.bankingapi.config;
+
+import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.security.JwtUtils;
+import com.yassine.bankingapi.service.AccountService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "jwt.stateless-claims=true",
+        "banking.sql.fail-on-budget-exceeded=true"
+})
+@AutoConfigureMockMvc
+@DisplayName("SqlStatementFilter tests")
+class SqlStatementFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementFilter sqlStatementFilter;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should record the statements of a request within its @SqlBudget")
+    void request_WithinBudget_Recorded() throws Exception {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setFirstName("Budget");
+        customer.setLastName("Tester");
+        customer.setEmail("budget-" + System.nanoTime() + "@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = customerRepository.save(customer);
+        String accountNumber = accountService.createAccount(
+                new AccountDTO(customer.getId(), AccountType.CURRENT, new BigDecimal("10.00"))).getAccountNumber();
+        String token = jwtUtils.generateToken("budget-tester", "USER", 0L);
+
+        // Act
+        mockMvc.perform(get("/api/accounts/{accountNumber}", accountNumber)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Assert
+        DistributionSummary statements = meterRegistry.find("banking.request.sql.statements")
+                .tag("uri", "/api/accounts/{accountNumber}")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+        assertTrue(statements.max() <= 3);
+    }
+
+    @Test
+    @DisplayName("Should fail a request that runs more statements than its @SqlBudget")
+    void request_OverBudget_Throws() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/test");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, SqlStatementFilterTest.class.getDeclaredMethod("twoStatementHandler")));
+
+        // Act & Assert: three statements through the proxied DataSource
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> sqlStatementFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                    for (int i = 0; i < 3; i++) {
+                        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+                    }
+                }));
+        assertTrue(exception.getMessage().contains("ran 3 SQL statements, budget is 2"));
+    }
+
+    @SqlBudget(2)
+    void twoStatementHandler() {
+    }
+}
@@ -0,0 +1,80 @@
+package com.yassine.bankingapi.controller;
+
+import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.security.JwtUtils;
+import com.yassine.bankingapi.service.AccountService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Lanes on: mutations complete on a lane thread and are answered in an async dispatch
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "jwt.stateless-claims=true",
+        "banking.lanes.enabled=true",
+        "banking.lanes.count=2"
+})
+@AutoConfigureMockMvc
+@DisplayName("TransactionController async dispatch tests")
+class TransactionControllerAsyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    @DisplayName("A bearer-authenticated withdrawal on a lane is answered with 201 in the async dispatch")
+    void withdraw_OnLane_AnsweredInAsyncDispatch() throws Exception {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setFirstName("Async");
+        customer.setLastName("Tester");
+        customer.setEmail("async-" + System.nanoTime() + "@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = customerRepository.save(customer);
+        String accountNumber = accountService.createAccount(
+                new AccountDTO(customer.getId(), AccountType.CURRENT, new BigDecimal("100.00"))).getAccountNumber();
+        String token = jwtUtils.generateToken("async-tester", "USER", 0L);
+
+        // Act
+        MvcResult started = mockMvc.perform(post("/api/transactions/withdraw")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountNumber\":\"" + accountNumber + "\",\"amount\":30.00}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.type").value("WITHDRAWAL"))
+                .andExpect(jsonPath("$.balanceAfter").value(70.0));
+        assertEquals(0, new BigDecimal("70.00").compareTo(accountService.getAccountByNumber(accountNumber).getBalance()));
+    }
+}
@@ -0,0 +1,197 @@
+package com.yassine.bankingapi.repository;
+
+import com.yassine.bankingapi.dto.AccountResponse;
+import com.yassine.bankingapi.dto.StatementAggregate;
+import com.yassine.bankingapi.dto.TransactionResponse;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.model.Transaction.Direction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import com.yassine.bankingapi.service.SnowflakeReferenceGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SnowflakeReferenceGenerator.class)
+@DisplayName("Response projection query tests")
+class ResponseProjectionQueryTest {
+
+    private static final int ROWS = 1000;
+    private static final int CUSTOMERS = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        // Spread the accounts over several customers so a lazy mapping would show up as extra selects
+        Customer[] customers = new Customer[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("First" + i);
+            customer.setLastName("Last" + i);
+            customer.setEmail("projection-" + i + "@example.com");
+            customer.setPhoneNumber("00000000");
+            customer.setAddress("Tunis");
+            customers[i] = entityManager.persist(customer);
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            Account created = new Account();
+            created.setAccountType(AccountType.SAVINGS);
+            created.setBalance(new BigDecimal("100.00"));
+            created.setStatus(AccountStatus.ACTIVE);
+            created.setCustomer(customers[i % CUSTOMERS]);
+            entityManager.persist(created);
+            if (account == null) {
+                account = created;
+            }
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setDirection(Direction.CREDIT);
+            transaction.setAmount(BigDecimal.ONE);
+            transaction.setBalanceAfter(BigDecimal.valueOf(i + 1));
+            transaction.setAccount(account);
+            entityManager.persist(transaction);
+        }
+
+        // Start the listing from a cold persistence context
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list 1000 accounts with their owner in a single statement")
+    void findResponsesAfter_SingleStatement() {
+        // Act
+        List<AccountResponse> responses = accountRepository.findResponsesAfter(0L, null, null, PageRequest.of(0, ROWS));
+
+        // Assert
+        assertEquals(ROWS, responses.size());
+        assertEquals("First0 Last0", responses.get(0).getCustomerName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should resume an account page after the cursor id and apply filters")
+    void findResponsesAfter_KeysetAndFilters() {
+        // Act
+        List<AccountResponse> next = accountRepository.findResponsesAfter(account.getId(), null, null, PageRequest.of(0, 10));
+        List<AccountResponse> current = accountRepository.findResponsesAfter(0L, AccountStatus.ACTIVE, AccountType.CURRENT, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(10, next.size());
+        assertTrue(next.get(0).getId() > account.getId());
+        assertTrue(current.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the updated account from a balance update in a single statement")
+    void creditAndDebitBalance_ReturnUpdatedAccount() {
+        // Act
+        Optional<Account> credited = accountRepository.creditBalance(account.getAccountNumber(),
+                new BigDecimal("25.00"), AccountStatus.ACTIVE, LocalDateTime.now());
+        Optional<Account> overdrawn = accountRepository.debitBalance(account.getAccountNumber(),
+                new BigDecimal("1000.00"), AccountStatus.ACTIVE, LocalDateTime.now());
+
+        // Assert
+        assertTrue(credited.isPresent());
+        assertEquals(0, new BigDecimal("125.00").compareTo(credited.get().getBalance()));
+        assertEquals(account.getVersion() + 1, credited.get().getVersion());
+        assertTrue(overdrawn.isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should list 1000 transactions with their account number in a single statement")
+    void findResponsesByAccountNumber_SingleStatement() {
+        // Act
+        List<TransactionResponse> responses = transactionRepository.findResponsesByAccountNumber(account.getAccountNumber());
+
+        // Assert
+        assertEquals(ROWS, responses.size());
+        assertTrue(responses.stream().allMatch(r -> account.getAccountNumber().equals(r.getAccountNumber())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should walk an account's history page by page without gaps or repeats")
+    void findByAccountIdBefore_WalksAllPages() {
+        // Arrange
+        Set<Long> seen = new HashSet<>();
+        List<TransactionResponse> page = transactionRepository.findLatestByAccountId(account.getId(), PageRequest.of(0, 100));
+
+        // Act: rows created in the same instant are ordered by id
+        while (!page.isEmpty()) {
+            page.forEach(response -> assertTrue(seen.add(response.getId()), "Repeated " + response.getId()));
+            TransactionResponse last = page.get(page.size() - 1);
+            page = transactionRepository.findByAccountIdBefore(account.getId(), last.getCreatedAt(), last.getId(),
+                    PageRequest.of(0, 100));
+        }
+
+        // Assert
+        assertEquals(ROWS, seen.size());
+    }
+
+    @Test
+    @DisplayName("Should aggregate 1000 transactions into one monthly row in a single statement")
+    void findStatementAggregates_SingleCompactRow() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+
+        // Act
+        List<StatementAggregate> rows = transactionRepository.findStatementAggregates(account.getId(),
+                today.withDayOfMonth(1).atStartOfDay(), today.withDayOfMonth(1).plusMonths(1).atStartOfDay());
+
+        // Assert
+        assertEquals(1, rows.size());
+        StatementAggregate row = rows.get(0);
+        assertEquals(today.getMonthValue(), row.getMonth());
+        assertEquals(TransactionType.DEPOSIT, row.getType());
+        assertEquals(ROWS, row.getCount());
+        assertEquals(0, BigDecimal.valueOf(ROWS).compareTo(row.getTotal()));
+        assertEquals(0, BigDecimal.ONE.compareTo(row.getMinBalance()));
+        assertEquals(0, BigDecimal.valueOf(ROWS).compareTo(row.getMaxBalance()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
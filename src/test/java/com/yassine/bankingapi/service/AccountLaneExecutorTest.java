@@ -0,0 +1,88 @@
+package com.yassine.bankingapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountLaneExecutor Unit Tests")
+class AccountLaneExecutorTest {
+
+    private static final int LANES = 4;
+
+    private AccountLaneExecutor laneExecutor;
+
+    @BeforeEach
+    void setUp() {
+        laneExecutor = new AccountLaneExecutor(new SimpleMeterRegistry(), true, LANES, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        laneExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should apply the mutations of one account one at a time, in submission order")
+    void submit_SameAccount_RunsSeriallyInOrder() throws Exception {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            int sequence = i;
+            futures.add(laneExecutor.submit("ACC-HOT", () -> {
+                assertEquals(1, running.incrementAndGet(), "Two mutations of one account overlapped");
+                order.add(sequence);
+                running.decrementAndGet();
+                return sequence;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Crossed transfers between two lanes complete without deadlock")
+    void submit_CrossedTransfers_NoDeadlock() throws Exception {
+        // Arrange
+        String first = accountOnLane(0);
+        String second = accountOnLane(1);
+        AtomicInteger applied = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            futures.add(laneExecutor.submit(first, second, applied::incrementAndGet));
+            futures.add(laneExecutor.submit(second, first, applied::incrementAndGet));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1_000, applied.get());
+    }
+
+    private String accountOnLane(int lane) {
+        for (int i = 0; ; i++) {
+            String accountNumber = "ACC" + i;
+            if (laneExecutor.lane(accountNumber) == lane) {
+                return accountNumber;
+            }
+        }
+    }
+}
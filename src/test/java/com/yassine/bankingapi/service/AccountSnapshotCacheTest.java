@@ -0,0 +1,93 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.AccountResponse;
+import com.yassine.bankingapi.exception.ResourceNotFoundException;
+import com.yassine.bankingapi.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountSnapshotCache Unit Tests")
+class AccountSnapshotCacheTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountSnapshotCache = new AccountSnapshotCache(accountRepository, meterRegistry, 100, 300);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache")
+    void get_SecondRead_HitsCache() {
+        // Arrange
+        when(accountRepository.findResponseByAccountNumber("ACC001")).thenReturn(Optional.of(snapshot("100.00")));
+
+        // Act
+        accountSnapshotCache.get("ACC001");
+        AccountResponse result = accountSnapshotCache.get("ACC001");
+
+        // Assert
+        assertEquals(new BigDecimal("100.00"), result.getBalance());
+        verify(accountRepository, times(1)).findResponseByAccountNumber("ACC001");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict a snapshot only once the writing transaction commits")
+    void evictAfterCommit_EvictsOnCommit() {
+        // Arrange
+        when(accountRepository.findResponseByAccountNumber("ACC001"))
+                .thenReturn(Optional.of(snapshot("100.00")), Optional.of(snapshot("150.00")));
+        accountSnapshotCache.get("ACC001");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            accountSnapshotCache.evictAfterCommit("ACC001");
+            AccountResponse beforeCommit = accountSnapshotCache.get("ACC001");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            AccountResponse afterCommit = accountSnapshotCache.get("ACC001");
+
+            // Assert
+            assertEquals(new BigDecimal("100.00"), beforeCommit.getBalance());
+            assertEquals(new BigDecimal("150.00"), afterCommit.getBalance());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw exception when account not found")
+    void get_NotFound_ThrowsException() {
+        // Arrange
+        when(accountRepository.findResponseByAccountNumber("INVALID")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> accountSnapshotCache.get("INVALID"));
+    }
+
+    private AccountResponse snapshot(String balance) {
+        return new AccountResponse(1L, "ACC001", "SAVINGS", new BigDecimal(balance), "ACTIVE", 1L,
+                "Ahmed Ben Ali", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,115 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.AuthResponse;
+import com.yassine.bankingapi.dto.LoginRequest;
+import com.yassine.bankingapi.dto.RegisterRequest;
+import com.yassine.bankingapi.model.User;
+import com.yassine.bankingapi.repository.UserRepository;
+import com.yassine.bankingapi.security.PasswordHashingExecutor;
+import com.yassine.bankingapi.security.TokenRevocationRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DisplayName("AuthService tests")
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Test
+    @DisplayName("Should log in a registered user and reject a wrong password or an unknown user")
+    void login_ChecksPassword() {
+        // Arrange
+        String username = "login-" + System.nanoTime();
+        authService.register(new RegisterRequest(username, username + "@example.com", "secret123")).join();
+
+        // Act
+        AuthResponse response = authService.login(new LoginRequest(username, "secret123")).join();
+
+        // Assert
+        assertEquals(username, response.getUsername());
+        assertNotNull(response.getToken());
+        CompletionException wrongPassword = assertThrows(CompletionException.class,
+                () -> authService.login(new LoginRequest(username, "wrong-password")).join());
+        assertInstanceOf(BadCredentialsException.class, wrongPassword.getCause());
+        CompletionException unknownUser = assertThrows(CompletionException.class,
+                () -> authService.login(new LoginRequest("nobody-" + username, "secret123")).join());
+        assertInstanceOf(BadCredentialsException.class, unknownUser.getCause());
+    }
+
+    @Test
+    @DisplayName("Work chained on a hashing result runs off the hashing pool")
+    void hashingResult_ContinuesOffThePool() {
+        // Act
+        String hashingThread = passwordHashingExecutor.submit(() -> Thread.currentThread().getName())
+                .join();
+        String continuationThread = passwordHashingExecutor.submit(() -> "hash")
+                .thenApply(hash -> Thread.currentThread().getName())
+                .join();
+
+        // Assert
+        assertTrue(hashingThread.startsWith("password-hash-"));
+        assertFalse(continuationThread.startsWith("password-hash-"));
+    }
+
+    @Test
+    @DisplayName("Changing a user's role revokes the tokens issued with the old role")
+    void changeRole_RevokesEarlierTokens() {
+        // Arrange
+        User user = saveUser();
+
+        // Act
+        authService.changeRole(user.getUsername(), User.Role.ADMIN);
+
+        // Assert
+        User updated = userRepository.findByUsername(user.getUsername()).orElseThrow();
+        assertEquals(User.Role.ADMIN, updated.getRole());
+        assertEquals(1L, updated.getTokenVersion());
+        assertFalse(revocationRegistry.isCurrent(user.getUsername(), 0L));
+        assertTrue(revocationRegistry.isCurrent(user.getUsername(), 1L));
+    }
+
+    @Test
+    @DisplayName("Any role update bumps the token version, other updates keep it")
+    void roleUpdate_BumpsTokenVersion() {
+        // Arrange
+        User user = saveUser();
+
+        // Act
+        User loaded = userRepository.findByUsername(user.getUsername()).orElseThrow();
+        loaded.setEmail("renamed-" + System.nanoTime() + "@example.com");
+        userRepository.saveAndFlush(loaded);
+        loaded = userRepository.findByUsername(user.getUsername()).orElseThrow();
+        loaded.setRole(User.Role.ADMIN);
+        userRepository.saveAndFlush(loaded);
+
+        // Assert
+        assertEquals(1L, userRepository.findByUsername(user.getUsername()).orElseThrow().getTokenVersion());
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setUsername("role-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("hash");
+        user.setRole(User.Role.USER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,112 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.exception.BadRequestException;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.model.DailyBalanceSnapshot;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.repository.DailyBalanceSnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DisplayName("BalanceSnapshotService tests")
+class BalanceSnapshotServiceTest {
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DailyBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Historical balances combine the nearest daily snapshot with the transactions after it")
+    void getBalanceAt_CombinesSnapshotAndLaterTransactions() {
+        // Arrange: an account opened three days ago with 100, +50 two days ago, -30 yesterday, +5 and +10 today
+        LocalDate today = LocalDate.now();
+        Customer customer = new Customer();
+        customer.setFirstName("Snapshot");
+        customer.setLastName("Tester");
+        customer.setEmail("snapshot-" + System.nanoTime() + "@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = customerRepository.save(customer);
+
+        Account account = accountService.createAccount(new AccountDTO(customer.getId(), AccountType.CURRENT, new BigDecimal("100.00")));
+        String accountNumber = account.getAccountNumber();
+        backdateAccount(account.getId(), today.minusDays(3).atTime(8, 0));
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE account_id = ?",
+                today.minusDays(3).atTime(9, 0), account.getId());
+        moveTodaysSnapshot(account.getId(), today.minusDays(3));
+        backdate(transactionService.deposit(new TransactionDTO(accountNumber, new BigDecimal("50.00"), "Day -2")),
+                today.minusDays(2).atTime(10, 0));
+        moveTodaysSnapshot(account.getId(), today.minusDays(2));
+        backdate(transactionService.withdraw(new TransactionDTO(accountNumber, new BigDecimal("30.00"), "Day -1")),
+                today.minusDays(1).atTime(12, 0));
+        moveTodaysSnapshot(account.getId(), today.minusDays(1));
+
+        // Act
+        transactionService.deposit(new TransactionDTO(accountNumber, new BigDecimal("5.00"), "Today"));
+        Transaction latest = transactionService.deposit(new TransactionDTO(accountNumber, new BigDecimal("10.00"), "Today again"));
+
+        // Assert: one row per active day, today's one moved along by each change
+        DailyBalanceSnapshot todays = snapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(account.getId(), today.plusDays(1))
+                .orElseThrow();
+        assertEquals(today, todays.getSnapshotDate());
+        assertEquals(0, new BigDecimal("135.00").compareTo(todays.getClosingBalance()));
+        assertEquals(latest.getId(), todays.getLastTransactionId());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM daily_balance_snapshots WHERE account_id = ?", Integer.class, account.getId()));
+        assertBalance("100.00", accountNumber, today.minusDays(3).atTime(23, 0));
+        assertBalance("150.00", accountNumber, today.minusDays(2).atTime(12, 0));
+        assertBalance("150.00", accountNumber, today.minusDays(1).atTime(11, 0));
+        assertBalance("120.00", accountNumber, today.minusDays(1).atTime(13, 0));
+        assertBalance("135.00", accountNumber, LocalDateTime.now().plusMinutes(1));
+        assertThrows(BadRequestException.class,
+                () -> accountService.getBalanceAt(accountNumber, today.minusDays(4).atStartOfDay()));
+    }
+
+    private void assertBalance(String expected, String accountNumber, LocalDateTime at) {
+        assertEquals(0, new BigDecimal(expected).compareTo(accountService.getBalanceAt(accountNumber, at)),
+                "Balance at " + at);
+    }
+
+    private void backdateAccount(Long accountId, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE accounts SET created_at = ? WHERE id = ?", createdAt, accountId);
+    }
+
+    private void moveTodaysSnapshot(Long accountId, LocalDate day) {
+        jdbcTemplate.update("UPDATE daily_balance_snapshots SET snapshot_date = ? WHERE account_id = ? AND snapshot_date = ?",
+                day, accountId, LocalDate.now());
+    }
+
+    private void backdate(Transaction transaction, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?", createdAt, transaction.getId());
+    }
+}
@@ -2,6 +2,7 @@ package com.yassine.bankingapi.service;
 
 import com.yassine.bankingapi.dto.CustomerDTO;
 import com.yassine.bankingapi.dto.CustomerResponse;
+import com.yassine.bankingapi.dto.PageResponse;
 import com.yassine.bankingapi.exception.BadRequestException;
 import com.yassine.bankingapi.exception.ResourceNotFoundException;
 import com.yassine.bankingapi.model.Customer;
@@ -13,6 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -22,6 +26,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +36,12 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Mock
+    private CustomerSearchEngine customerSearchEngine;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -202,17 +213,32 @@ class CustomerServiceTest {
     }
 
     @Test
-    @DisplayName("Should search customers by keyword")
+    @DisplayName("Should search customers by keyword in ranking order")
     void searchCustomers_Success() {
         // Arrange
-        when(customerRepository.searchByKeyword("Ahmed")).thenReturn(Arrays.asList(testCustomer));
+        Customer other = new Customer();
+        other.setId(2L);
+        other.setFirstName("Ahmad");
+        other.setLastName("Trabelsi");
+        other.setEmail("ahmad@example.com");
+        when(customerSearchEngine.search(eq("Ahmed"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L), PageRequest.of(0, 20), 2));
+        when(customerRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(other, testCustomer));
 
         // Act
-        List<CustomerResponse> result = customerService.searchCustomers("Ahmed");
+        PageResponse<CustomerResponse> result = customerService.searchCustomers("Ahmed", 0, 20);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Ahmed", result.get(0).getFirstName());
+        assertEquals(2, result.getTotalElements());
+        assertEquals("Ahmed", result.getContent().get(0).getFirstName());
+        assertEquals("Ahmad", result.getContent().get(1).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should reject a search page size above the maximum")
+    void searchCustomers_SizeTooLarge_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> customerService.searchCustomers("Ahmed", 0, 1000));
+        verifyNoInteractions(customerSearchEngine);
     }
 }
@@ -0,0 +1,88 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.BatchItemDTO;
+import com.yassine.bankingapi.dto.BatchItemResult;
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransactionResponse;
+import com.yassine.bankingapi.exception.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DepositLedger Unit Tests")
+class DepositLedgerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private DepositLedger depositLedger;
+
+    @BeforeEach
+    void setUp() {
+        depositLedger = new DepositLedger(transactionService, new SimpleMeterRegistry(), true, 100, 200, 1000);
+        depositLedger.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        depositLedger.stop();
+    }
+
+    @Test
+    @DisplayName("Should commit deposits arriving within the flush interval as one group")
+    void submit_DepositsWithinInterval_CommittedTogether() throws Exception {
+        // Arrange
+        when(transactionService.applyBatch(anyList(), eq(0))).thenAnswer(invocation -> {
+            List<BatchItemDTO> items = invocation.getArgument(0);
+            List<BatchItemResult> results = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                TransactionResponse response = new TransactionResponse();
+                response.setId((long) i);
+                response.setAmount(items.get(i).getAmount());
+                results.add(BatchItemResult.success(i, "DEPOSIT", List.of(response)));
+            }
+            return results;
+        });
+
+        // Act
+        CompletableFuture<TransactionResponse> first = depositLedger.submit(deposit("10.00"));
+        CompletableFuture<TransactionResponse> second = depositLedger.submit(deposit("20.00"));
+        CompletableFuture<TransactionResponse> third = depositLedger.submit(deposit("30.00"));
+
+        // Assert
+        assertEquals(new BigDecimal("10.00"), first.get(5, TimeUnit.SECONDS).getAmount());
+        assertEquals(new BigDecimal("20.00"), second.get(5, TimeUnit.SECONDS).getAmount());
+        assertEquals(new BigDecimal("30.00"), third.get(5, TimeUnit.SECONDS).getAmount());
+        verify(transactionService, times(1)).applyBatch(argThat((List<BatchItemDTO> items) -> items.size() == 3), eq(0));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive amount before buffering it")
+    void submit_InvalidAmount_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> depositLedger.submit(deposit("0.00")));
+        verifyNoInteractions(transactionService);
+    }
+
+    private TransactionDTO deposit(String amount) {
+        return new TransactionDTO("ACC001", new BigDecimal(amount), "Cashback");
+    }
+}
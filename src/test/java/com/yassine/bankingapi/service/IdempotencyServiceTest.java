@@ -0,0 +1,146 @@
+package com.yassine.bankingapi.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransactionResponse;
+import com.yassine.bankingapi.exception.ConflictException;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountStatus;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.AccountRepository;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DisplayName("IdempotencyService tests")
+class IdempotencyServiceTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setFirstName("Idempotent");
+        customer.setLastName("Tester");
+        customer.setEmail("idempotency-" + System.nanoTime() + "@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = customerRepository.save(customer);
+
+        Account account = new Account();
+        account.setAccountType(AccountType.CURRENT);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setBalance(new BigDecimal("100.00"));
+        account.setCustomer(customer);
+        accountNumber = accountRepository.save(account).getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicates of a deposit move the money once and share one response")
+    void execute_ConcurrentDuplicates_ExecuteOnce() throws Exception {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        TransactionDTO dto = new TransactionDTO(accountNumber, new BigDecimal("25.00"), "Idempotent deposit");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransactionResponse>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < THREADS; i++) {
+            Callable<TransactionResponse> call = () -> {
+                start.await();
+                return deposit(key, dto);
+            };
+            futures.add(executor.submit(call));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        TransactionResponse replayed = deposit(key, dto);
+
+        // Assert
+        Long transactionId = futures.get(0).get().getId();
+        for (Future<TransactionResponse> future : futures) {
+            assertEquals(transactionId, future.get().getId());
+        }
+        assertEquals(transactionId, replayed.getId());
+        assertEquals(0, new BigDecimal("125.00").compareTo(
+                accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance()));
+        assertEquals(1, transactionRepository.findResponsesByAccountNumber(accountNumber).size());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void execute_KeyReusedWithDifferentRequest_ThrowsConflict() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        deposit(key, new TransactionDTO(accountNumber, new BigDecimal("10.00"), "First"));
+
+        // Act & Assert
+        assertThrows(ConflictException.class,
+                () -> deposit(key, new TransactionDTO(accountNumber, new BigDecimal("99.00"), "Second")));
+    }
+
+    @Test
+    @DisplayName("The same key sent by two users runs once for each of them")
+    void execute_SameKeyFromAnotherUser_ExecutesSeparately() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        TransactionDTO dto = new TransactionDTO(accountNumber, new BigDecimal("10.00"), "Shared key");
+        TransactionResponse first = deposit(key, dto);
+
+        // Act
+        TransactionResponse other = deposit("other-user", key, dto);
+
+        // Assert
+        assertNotEquals(first.getId(), other.getId());
+        assertEquals(other.getId(), deposit("other-user", key, dto).getId());
+        assertEquals(0, new BigDecimal("120.00").compareTo(
+                accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance()));
+    }
+
+    private TransactionResponse deposit(String key, TransactionDTO dto) {
+        return deposit("idempotency-tester", key, dto);
+    }
+
+    private TransactionResponse deposit(String principal, String key, TransactionDTO dto) {
+        return idempotencyService.execute(principal, key, "deposit", dto, 201, new TypeReference<>() { },
+                () -> TransactionResponse.fromTransaction(transactionService.deposit(dto)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryCustomerSearchEngine Unit Tests")
+class InMemoryCustomerSearchEngineTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private InMemoryCustomerSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryCustomerSearchEngine(customerRepository);
+        searchEngine.index(1L, "Ahmed Ben Ali ahmed@example.com");
+        searchEngine.index(2L, "Ahmad Trabelsi ahmad@example.com");
+        searchEngine.index(3L, "Leïla Benaïssa leila@example.com");
+    }
+
+    @Test
+    @DisplayName("Should rank an exact match before a fuzzy one")
+    void search_ExactBeforeFuzzy() {
+        // Act
+        List<Long> ids = search("Ahmed");
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    @DisplayName("Should match prefixes, ignoring case and accents, and require every term")
+    void search_PrefixAccentsAndAllTerms() {
+        // Act & Assert
+        assertEquals(List.of(2L), search("trab"));
+        assertEquals(3L, search("BENAISSA").get(0));
+        assertEquals(List.of(1L), search("ahmed ben"));
+        assertTrue(search("zzz").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should follow updates and removals")
+    void index_UpdateAndRemove() {
+        // Act
+        searchEngine.index(2L, "Karim Trabelsi karim@example.com");
+        searchEngine.removeAfterCommit(1L);
+
+        // Assert
+        assertTrue(search("ahmed").isEmpty());
+        assertEquals(List.of(2L), search("karim"));
+    }
+
+    @Test
+    @DisplayName("Should page the ranked results and report the total")
+    void search_Paging() {
+        // Act
+        Page<Long> first = searchEngine.search("example", PageRequest.of(0, 2));
+        Page<Long> second = searchEngine.search("example", PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(1L, 2L), first.getContent());
+        assertEquals(List.of(3L), second.getContent());
+    }
+
+    private List<Long> search(String query) {
+        return searchEngine.search(query, PageRequest.of(0, 20)).getContent();
+    }
+}
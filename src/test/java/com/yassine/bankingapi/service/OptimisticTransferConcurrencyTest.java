@@ -0,0 +1,13 @@
+package com.yassine.bankingapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "banking.concurrency.mode=OPTIMISTIC",
+        "banking.concurrency.retry.max-attempts=10"
+})
+@DisplayName("TransactionService transfer concurrency tests (optimistic mode)")
+class OptimisticTransferConcurrencyTest extends TransferConcurrencyTest {
+}
@@ -0,0 +1,143 @@
+package com.yassine.bankingapi.service;
+
+import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransactionEvent;
+import com.yassine.bankingapi.dto.TransferDTO;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled relay runs once at startup, then the test drives it
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "banking.outbox.relay.interval-ms=3600000"
+})
+@DisplayName("OutboxRelay tests")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventCollector collector;
+
+    @Test
+    @DisplayName("Committed transactions are published in order per account, and again after a failed delivery")
+    void relay_PublishesCommittedTransactionsAtLeastOnce() {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setFirstName("Outbox");
+        customer.setLastName("Tester");
+        customer.setEmail("outbox-" + System.nanoTime() + "@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = customerRepository.save(customer);
+        String source = accountService.createAccount(
+                new AccountDTO(customer.getId(), AccountType.CURRENT, new BigDecimal("100.00"))).getAccountNumber();
+        String destination = accountService.createAccount(
+                new AccountDTO(customer.getId(), AccountType.CURRENT, BigDecimal.ZERO)).getAccountNumber();
+        transactionService.deposit(new TransactionDTO(source, new BigDecimal("20.00"), "Deposit"));
+        transactionService.transfer(new TransferDTO(source, destination, new BigDecimal("50.00"), "Rent"));
+
+        // Act: the first delivery fails, the second one succeeds
+        collector.failNext = true;
+        outboxRelay.relayPending();
+        assertEquals(3, pending(source));
+        outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(0, pending(source));
+        assertEquals(0, pending(destination));
+        List<TransactionEvent> sourceEvents = collector.events.stream()
+                .filter(event -> event.getAccountNumber().equals(source))
+                .toList();
+        assertEquals(List.of("DEPOSIT", "DEPOSIT", "TRANSFER"),
+                sourceEvents.stream().map(TransactionEvent::getType).toList());
+        assertEquals(List.of(1L, 2L, 3L), sourceEvents.stream().map(TransactionEvent::getSequence).toList());
+        assertEquals(0, new BigDecimal("70.00").compareTo(sourceEvents.get(2).getBalanceAfter()));
+        assertEquals("DEBIT", sourceEvents.get(2).getDirection());
+        assertTrue(collector.events.stream().anyMatch(event ->
+                event.getAccountNumber().equals(destination) && event.getDirection().equals("CREDIT")));
+    }
+
+    @Test
+    @DisplayName("Events of an account are published in sequence order, whatever their ids")
+    void relay_OrdersByAccountSequenceNotId() {
+        // Arrange: pooled ids from two nodes, the second commit got the lower id
+        insertPending(900_000_002L, "OUT-OF-ORDER", 1L);
+        insertPending(900_000_001L, "OUT-OF-ORDER", 2L);
+
+        // Act
+        outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), collector.events.stream()
+                .filter(event -> event.getAccountNumber().equals("OUT-OF-ORDER"))
+                .map(TransactionEvent::getSequence)
+                .toList());
+    }
+
+    private void insertPending(long id, String accountNumber, long sequence) {
+        jdbcTemplate.update("INSERT INTO outbox_events (id, account_number, account_sequence, transaction_id, " +
+                        "transaction_reference, type, direction, amount, occurred_at) " +
+                        "VALUES (?, ?, ?, ?, ?, 'DEPOSIT', 'CREDIT', 1.00, CURRENT_TIMESTAMP)",
+                id, accountNumber, sequence, id, "REF-" + id);
+    }
+
+    private int pending(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE account_number = ? AND published_at IS NULL",
+                Integer.class, accountNumber);
+    }
+
+    static class EventCollector {
+
+        final List<TransactionEvent> events = new CopyOnWriteArrayList<>();
+        volatile boolean failNext;
+
+        @EventListener
+        public void onTransaction(TransactionEvent event) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("Consumer unavailable");
+            }
+            events.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class CollectorConfig {
+
+        @Bean
+        EventCollector eventCollector() {
+            return new EventCollector();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.yassine.bankingapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnowflakeReferenceGenerator Unit Tests")
+class SnowflakeReferenceGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    @DisplayName("Should generate millions of unique ids from many threads")
+    void nextId_Concurrent_NoDuplicates() throws Exception {
+        // Arrange
+        SnowflakeReferenceGenerator generator = new SnowflakeReferenceGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        Future<?>[] futures = new Future<?>[THREADS];
+        long[][] idsPerThread = new long[THREADS][IDS_PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            long[] ids = idsPerThread[t];
+            futures[t] = executor.submit(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    ids[i] = generator.nextId();
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            // Ids seen by one thread are strictly increasing
+            for (int i = 1; i < IDS_PER_THREAD; i++) {
+                assertTrue(idsPerThread[t][i] > idsPerThread[t][i - 1]);
+            }
+            System.arraycopy(idsPerThread[t], 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "Duplicate id generated");
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay unique and increasing when the clock goes backwards")
+    void nextId_ClockGoesBackwards_StillIncreasing() {
+        // Arrange
+        AtomicLong now = new AtomicLong(SnowflakeReferenceGenerator.EPOCH + 10_000);
+        SnowflakeReferenceGenerator generator = new SnowflakeReferenceGenerator(1, now::get);
+
+        // Act
+        long first = generator.nextId();
+        now.addAndGet(-5_000);
+        long second = generator.nextId();
+
+        // Assert
+        assertTrue(second > first);
+    }
+
+    @Test
+    @DisplayName("Should prefix references and reject invalid node ids")
+    void nextReference_PrefixAndNodeValidation() {
+        SnowflakeReferenceGenerator generator = new SnowflakeReferenceGenerator(0);
+
+        assertTrue(generator.nextReference("TXN").startsWith("TXN"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeReferenceGenerator(SnowflakeReferenceGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,111 @@
+package com.yassine.bankingapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yassine.bankingapi.dto.AccountDTO;
+import com.yassine.bankingapi.model.Account;
+import com.yassine.bankingapi.model.Account.AccountType;
+import com.yassine.bankingapi.model.Customer;
+import com.yassine.bankingapi.model.Transaction;
+import com.yassine.bankingapi.model.Transaction.Direction;
+import com.yassine.bankingapi.model.Transaction.TransactionType;
+import com.yassine.bankingapi.repository.CustomerRepository;
+import com.yassine.bankingapi.repository.TransactionRepository;
+import com.yassine.bankingapi.service.TransactionExportService.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DisplayName("TransactionExportService tests")
+class TransactionExportServiceTest {
+
+    private static final int ROWS = 3000;
+    private static final String TRICKY_DESCRIPTION = "Rent, \"May\"\r\nsecond line";
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setFirstName("Export");
+        customer.setLastName("Tester");
+        customer.setEmail("export-" + System.nanoTime() + "@example.com");
+        customer.setPhoneNumber("00000000");
+        customer.setAddress("Tunis");
+        customer = customerRepository.save(customer);
+        account = accountService.createAccount(new AccountDTO(customer.getId(), AccountType.CURRENT, BigDecimal.ZERO));
+
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setDirection(Direction.CREDIT);
+            transaction.setAmount(BigDecimal.ONE);
+            transaction.setBalanceAfter(BigDecimal.valueOf(i + 1));
+            transaction.setDescription(i == 0 ? TRICKY_DESCRIPTION : "Deposit " + i);
+            transaction.setAccount(account);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+    }
+
+    @Test
+    @DisplayName("Should stream every row as CSV with a header and quote separators, quotes and line breaks")
+    void exportTransactions_Csv() throws Exception {
+        // Act
+        String csv = export(ExportFormat.CSV);
+
+        // Assert: one header line, one line per row, plus the line break inside the quoted field
+        assertTrue(csv.startsWith("id,transactionReference,type,amount,balanceAfter,description,"
+                + "accountNumber,destinationAccountNumber,createdAt\n"));
+        assertEquals(1 + ROWS + 1, csv.chars().filter(c -> c == '\n').count());
+        assertTrue(csv.contains(",\"Rent, \"\"May\"\"\r\nsecond line\"," + account.getAccountNumber() + ","));
+        assertTrue(csv.contains(",Deposit 1," + account.getAccountNumber() + ","));
+    }
+
+    @Test
+    @DisplayName("Should stream every row as one JSON document per line")
+    void exportTransactions_Ndjson() throws Exception {
+        // Act
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        // Assert
+        assertEquals(ROWS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(TRICKY_DESCRIPTION, first.get("description").asText());
+        assertEquals(account.getAccountNumber(), first.get("accountNumber").asText());
+        assertEquals(ROWS, objectMapper.readTree(lines[ROWS - 1]).get("balanceAfter").asInt());
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTransactions(account.getId(), account.getAccountNumber(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
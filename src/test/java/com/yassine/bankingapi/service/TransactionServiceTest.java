@@ -1,6 +1,10 @@
 package com.yassine.bankingapi.service;
 
+import com.yassine.bankingapi.dto.BatchItemDTO;
+import com.yassine.bankingapi.dto.BatchItemResult;
+import com.yassine.bankingapi.dto.CursorPageResponse;
 import com.yassine.bankingapi.dto.TransactionDTO;
+import com.yassine.bankingapi.dto.TransactionResponse;
 import com.yassine.bankingapi.dto.TransferDTO;
 import com.yassine.bankingapi.exception.BadRequestException;
 import com.yassine.bankingapi.exception.ResourceNotFoundException;
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,6 +31,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +45,15 @@ class TransactionServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Mock
+    private TransactionOutbox transactionOutbox;
+
+    @Mock
+    private BalanceSnapshotService balanceSnapshotService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -82,8 +98,8 @@ class TransactionServiceTest {
         dto.setAmount(new BigDecimal("100.00"));
         dto.setDescription("Test deposit");
 
-        when(accountRepository.findByAccountNumber("ACC001")).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.creditBalance(eq("ACC001"), eq(new BigDecimal("100.00")), eq(AccountStatus.ACTIVE), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(testAccount));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
 
         // Act
@@ -92,8 +108,10 @@ class TransactionServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(TransactionType.DEPOSIT, result.getType());
-        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).findByAccountNumber(any());
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionOutbox).record(List.of(testTransaction));
     }
 
     @Test
@@ -104,13 +122,12 @@ class TransactionServiceTest {
         dto.setAccountNumber("ACC001");
         dto.setAmount(new BigDecimal("-50.00"));
 
-        when(accountRepository.findByAccountNumber("ACC001")).thenReturn(Optional.of(testAccount));
-
         // Act & Assert
         BadRequestException exception = assertThrows(BadRequestException.class,
                 () -> transactionService.deposit(dto));
 
         assertTrue(exception.getMessage().contains("Amount must be greater than 0"));
+        verify(accountRepository, never()).creditBalance(any(), any(), any(), any());
     }
 
     @Test
@@ -142,8 +159,8 @@ class TransactionServiceTest {
         withdrawTransaction.setAmount(new BigDecimal("100.00"));
         withdrawTransaction.setBalanceAfter(new BigDecimal("900.00"));
 
-        when(accountRepository.findByAccountNumber("ACC001")).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.debitBalance(eq("ACC001"), eq(new BigDecimal("100.00")), eq(AccountStatus.ACTIVE), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(testAccount));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(withdrawTransaction);
 
         // Act
@@ -189,8 +206,8 @@ class TransactionServiceTest {
         incomingTransaction.setType(TransactionType.TRANSFER);
         incomingTransaction.setAmount(new BigDecimal("200.00"));
 
-        when(accountRepository.findByAccountNumber("ACC001")).thenReturn(Optional.of(testAccount));
-        when(accountRepository.findByAccountNumber("ACC002")).thenReturn(Optional.of(testAccount2));
+        when(accountRepository.findByAccountNumberForUpdate("ACC001")).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByAccountNumberForUpdate("ACC002")).thenReturn(Optional.of(testAccount2));
         when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArguments()[0]);
         when(transactionRepository.save(any(Transaction.class)))
                 .thenReturn(outgoingTransaction)
@@ -204,6 +221,103 @@ class TransactionServiceTest {
         assertEquals(2, result.size());
         verify(accountRepository, times(2)).save(any(Account.class));
         verify(transactionRepository, times(2)).save(any(Transaction.class));
+        verify(transactionOutbox).record(result);
+        verify(accountRepository, never()).findByAccountNumber(any());
+    }
+
+    @Test
+    @DisplayName("Should lock accounts in account-number order regardless of transfer direction")
+    void transfer_LocksAccountsInStableOrder() {
+        // Arrange
+        TransferDTO dto = new TransferDTO();
+        dto.setFromAccountNumber("ACC002");
+        dto.setToAccountNumber("ACC001");
+        dto.setAmount(new BigDecimal("50.00"));
+
+        when(accountRepository.findByAccountNumberForUpdate("ACC001")).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByAccountNumberForUpdate("ACC002")).thenReturn(Optional.of(testAccount2));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        transactionService.transfer(dto);
+
+        // Assert
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).findByAccountNumberForUpdate("ACC001");
+        inOrder.verify(accountRepository).findByAccountNumberForUpdate("ACC002");
+        assertEquals(new BigDecimal("450.00"), testAccount2.getBalance());
+        assertEquals(new BigDecimal("1050.00"), testAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should apply a batch in order and report failed items individually")
+    void applyBatch_MixedItems_PerItemResults() {
+        // Arrange
+        List<BatchItemDTO> items = List.of(
+                new BatchItemDTO(TransactionType.DEPOSIT, "ACC002", null, new BigDecimal("100.00"), null),
+                new BatchItemDTO(TransactionType.WITHDRAWAL, "ACC001", null, new BigDecimal("5000.00"), null),
+                new BatchItemDTO(TransactionType.TRANSFER, "ACC001", "ACC002", new BigDecimal("300.00"), null),
+                new BatchItemDTO(TransactionType.DEPOSIT, "UNKNOWN", null, new BigDecimal("10.00"), null));
+
+        when(accountRepository.findAllByAccountNumberInForUpdate(any())).thenReturn(List.of(testAccount, testAccount2));
+
+        // Act
+        List<BatchItemResult> results = transactionService.applyBatch(items, 0);
+
+        // Assert
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).getError().contains("Insufficient balance"));
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(2, results.get(2).getTransactions().size());
+        assertTrue(results.get(3).getError().contains("Account not found"));
+        assertEquals(new BigDecimal("700.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("900.00"), testAccount2.getBalance());
+        verify(transactionRepository, times(1)).saveAll(argThat((List<Transaction> records) -> records.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Should page account history with an opaque keyset cursor")
+    void getAccountTransactionHistory_CursorRoundTrip() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 10, 30, 0);
+        TransactionResponse newest = historyTransaction(3L, now);
+        TransactionResponse middle = historyTransaction(2L, now.minusMinutes(1));
+        TransactionResponse oldest = historyTransaction(1L, now.minusMinutes(2));
+
+        when(accountRepository.findIdByAccountNumber("ACC001")).thenReturn(Optional.of(1L));
+        when(transactionRepository.findLatestByAccountId(eq(1L), any())).thenReturn(List.of(newest, middle, oldest));
+        when(transactionRepository.findByAccountIdBefore(eq(1L), eq(middle.getCreatedAt()), eq(2L), any()))
+                .thenReturn(List.of(oldest));
+
+        // Act
+        CursorPageResponse<TransactionResponse> first = transactionService.getAccountTransactionHistory("ACC001", null, 2);
+        CursorPageResponse<TransactionResponse> second = transactionService.getAccountTransactionHistory("ACC001", first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.isHasNext());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getContent().size());
+        assertEquals(1L, second.getContent().get(0).getId());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed history cursor")
+    void getAccountTransactionHistory_InvalidCursor_ThrowsException() {
+        // Arrange
+        when(accountRepository.findIdByAccountNumber("ACC001")).thenReturn(Optional.of(1L));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> transactionService.getAccountTransactionHistory("ACC001", "not-a-cursor", 20));
+    }
+
+    private TransactionResponse historyTransaction(Long id, LocalDateTime createdAt) {
+        return new TransactionResponse(id, "TXN" + id, TransactionType.DEPOSIT, new BigDecimal("10.00"),
+                new BigDecimal("10.00"), null, "ACC001", null, createdAt);
     }
 
     @Test